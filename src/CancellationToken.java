@@ -0,0 +1,104 @@
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class lets a caller stop a long QuickHull or Ear Clipping run, either by
+ * calling cancel() from another thread or by giving the run a deadline. The algorithms
+ * check isCancelled() as they go and, once it is true, stop and return what they have
+ * found so far. They also count their progress here so other threads can watch it.
+ *
+ * Progress counters are volatile and only ever written by the thread doing the work,
+ * so a token should be handed to one run at a time.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class CancellationToken {
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    // progress, written by the working thread only
+    private volatile long pointsSorted;
+    private volatile long pointsProcessed;
+    private volatile long trianglesEmitted;
+
+    /**
+     * A token without a deadline, cancelled only by cancel()
+     */
+    public CancellationToken() {
+        this.deadline = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * A token that cancels itself once the timeout has passed
+     * @param timeout how long the run may take
+     * @param unit the unit of the timeout
+     */
+    public CancellationToken(long timeout, TimeUnit unit) {
+        this.deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.hasDeadline = true;
+    }
+
+    /**
+     * Ask the run to stop. Safe to call from any thread, any number of times
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true once cancel() has been called or the deadline has passed
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the nanoseconds left before the deadline, Long.MAX_VALUE without one
+     */
+    public long remainingNanos() {
+        return hasDeadline ? Math.max(0, deadline - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    void addPointsSorted(long count) {
+        pointsSorted += count;
+    }
+
+    void addPointsProcessed(long count) {
+        pointsProcessed += count;
+    }
+
+    void addTrianglesEmitted(long count) {
+        trianglesEmitted += count;
+    }
+
+    /**
+     * @return how many points the run's sort has put in place so far
+     */
+    public long getPointsSorted() {
+        return pointsSorted;
+    }
+
+    /**
+     * @return how many points the hull search is done with so far, either confirmed
+     * on the hull or ruled out as inside it. A finished run reaches the input size
+     */
+    public long getPointsProcessed() {
+        return pointsProcessed;
+    }
+
+    /**
+     * @return how many triangles the run has emitted so far
+     */
+    public long getTrianglesEmitted() {
+        return trianglesEmitted;
+    }
+}
@@ -0,0 +1,364 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class combines two convex polygons, such as two hulls sorted by
+ * QuickHull.sortCCW, in time linear in their total number of vertices:
+ *
+ *    intersect - the overlap of the two polygons, using O'Rourke's edge chasing
+ *                algorithm. The result is itself a convex polygon in CCW order, so it
+ *                can be handed straight to EarClipping.clipEars
+ *    merge     - the convex hull of both polygons together, by merging the two vertex
+ *                lists in x order and running one monotone chain pass
+ *
+ * Polygons given in clockwise order are reversed first.
+ *
+ * Adapted from: Joseph O'Rourke, Computational Geometry in C, section 7.6
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class ConvexPolygons {
+
+    // which polygon's boundary the intersection is currently following
+    private static final int UNKNOWN = 0;
+    private static final int P_IN = 1;
+    private static final int Q_IN = 2;
+
+    // results of intersecting two segments
+    private static final int NONE = 0;
+    private static final int PROPER = 1;
+    private static final int VERTEX = 2;
+    private static final int OVERLAP = 3;
+
+    private ConvexPolygons() {
+    }
+
+    /**
+     * Intersect two convex polygons
+     * @param P the first polygon, CCW
+     * @param Q the second polygon, CCW
+     * @return the vertices of the intersection in CCW order, or an empty list if the
+     *         polygons do not overlap in a region of positive area
+     */
+    public static ArrayList<Point> intersect(ArrayList<Point> P, ArrayList<Point> Q) {
+        ArrayList<Point> out = new ArrayList<Point>();
+        int n = P.size();
+        int m = Q.size();
+        if (n < 3 || m < 3) {
+            return out;
+        }
+        double[] px = new double[n];
+        double[] py = new double[n];
+        double[] qx = new double[m];
+        double[] qy = new double[m];
+        toCCWArrays(P, px, py);
+        toCCWArrays(Q, qx, qy);
+
+        int a = 0;
+        int b = 0;
+        int aa = 0;
+        int ba = 0;
+        int inflag = UNKNOWN;
+        boolean first = true;
+        double[] hit = new double[2];
+
+        do {
+            int a1 = (a + n - 1) % n;
+            int b1 = (b + m - 1) % m;
+            double Ax = px[a] - px[a1];
+            double Ay = py[a] - py[a1];
+            double Bx = qx[b] - qx[b1];
+            double By = qy[b] - qy[b1];
+
+            // which way the edges turn, and which side of each edge the other head is on
+            int cross = sign(Ax * By - Ay * Bx);
+            int aHB = sign(orient(qx[b1], qy[b1], qx[b], qy[b], px[a], py[a]));
+            int bHA = sign(orient(px[a1], py[a1], px[a], py[a], qx[b], qy[b]));
+
+            int code = intersectSegments(px[a1], py[a1], px[a], py[a],
+                                         qx[b1], qy[b1], qx[b], qy[b], hit);
+            if (code == PROPER || code == VERTEX) {
+                if (inflag == UNKNOWN && first) {
+                    aa = 0;
+                    ba = 0;
+                    first = false;
+                }
+                addPoint(out, hit[0], hit[1]);
+                if (aHB > 0) {
+                    inflag = P_IN;
+                } else if (bHA > 0) {
+                    inflag = Q_IN;
+                }
+            }
+
+            // the polygons only share an edge, running in opposite directions
+            if (code == OVERLAP && Ax * Bx + Ay * By < 0) {
+                return new ArrayList<Point>();
+            }
+            // parallel edges with each polygon outside the other, they are disjoint
+            if (cross == 0 && aHB < 0 && bHA < 0) {
+                return new ArrayList<Point>();
+            }
+
+            // advance whichever edge is "behind" the other
+            boolean advanceA;
+            if (cross == 0 && aHB == 0 && bHA == 0) {
+                advanceA = (inflag != P_IN);
+            } else if (cross >= 0) {
+                advanceA = (bHA > 0);
+            } else {
+                advanceA = !(aHB > 0);
+            }
+            if (advanceA) {
+                if (inflag == P_IN) {
+                    addPoint(out, px[a], py[a]);
+                }
+                aa++;
+                a = (a + 1) % n;
+            } else {
+                if (inflag == Q_IN) {
+                    addPoint(out, qx[b], qy[b]);
+                }
+                ba++;
+                b = (b + 1) % m;
+            }
+        } while ((aa < n || ba < m) && aa < 2 * n && ba < 2 * m);
+
+        // the boundaries never crossed, so one polygon contains the other or they are
+        // disjoint. Test with an interior point, since a vertex could just touch, and
+        // only the smaller polygon can be the one inside
+        if (inflag == UNKNOWN) {
+            out.clear();
+            boolean pSmaller = area(px, py) <= area(qx, qy);
+            if (pSmaller && contains(qx, qy, average(px), average(py))) {
+                addAll(out, px, py);
+            } else if (!pSmaller && contains(px, py, average(qx), average(qy))) {
+                addAll(out, qx, qy);
+            }
+            return out;
+        }
+
+        // the walk ends where it started
+        while (out.size() > 1 && samePoint(out.get(0), out.get(out.size() - 1))) {
+            out.remove(out.size() - 1);
+        }
+        if (out.size() < 3) {
+            out.clear();
+        }
+        return out;
+    }
+
+    /**
+     * Find the convex hull of two convex polygons together
+     * @param P the first polygon, CCW
+     * @param Q the second polygon, CCW
+     * @return the vertices of the combined hull in CCW order
+     */
+    public static ArrayList<Point> merge(ArrayList<Point> P, ArrayList<Point> Q) {
+        int n = P.size();
+        int m = Q.size();
+        double[] px = new double[n];
+        double[] py = new double[n];
+        double[] qx = new double[m];
+        double[] qy = new double[m];
+        toCCWArrays(P, px, py);
+        toCCWArrays(Q, qx, qy);
+
+        // put each polygon in x order, then merge the two orders
+        double[] sx = new double[n];
+        double[] sy = new double[n];
+        double[] tx = new double[m];
+        double[] ty = new double[m];
+        sortedVertices(px, py, sx, sy);
+        sortedVertices(qx, qy, tx, ty);
+        double[] xs = new double[n + m];
+        double[] ys = new double[n + m];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n + m; k++) {
+            boolean takeP = j >= m || (i < n && (sx[i] < tx[j] || (sx[i] == tx[j] && sy[i] <= ty[j])));
+            if (takeP) {
+                xs[k] = sx[i];
+                ys[k] = sy[i];
+                i++;
+            } else {
+                xs[k] = tx[j];
+                ys[k] = ty[j];
+                j++;
+            }
+        }
+        return OutOfCoreHull.toPoints(OutOfCoreHull.chain(xs, ys, n + m));
+    }
+
+    /**
+     * List the vertices of a convex CCW polygon in order of x, then y, in linear time.
+     * Going CCW from the lowest leftmost vertex, the lower chain runs left to right up
+     * to the highest rightmost vertex, and the upper chain runs back. Each chain is
+     * already sorted, so the two only need to be merged
+     */
+    private static void sortedVertices(double[] xs, double[] ys, double[] sx, double[] sy) {
+        int n = xs.length;
+        if (n == 0) {
+            return;
+        }
+        int lo = 0;
+        int hi = 0;
+        for (int i = 1; i < n; i++) {
+            if (xs[i] < xs[lo] || (xs[i] == xs[lo] && ys[i] < ys[lo])) {
+                lo = i;
+            }
+            if (xs[i] > xs[hi] || (xs[i] == xs[hi] && ys[i] > ys[hi])) {
+                hi = i;
+            }
+        }
+        int lowerLen = (hi - lo + n) % n + 1;
+        int upperLen = n - lowerLen;
+        // lower chain walks forward from lo, upper chain walks backward from lo - 1
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n; k++) {
+            int li = (lo + i) % n;
+            int ui = (lo - 1 - j + 2 * n) % n;
+            boolean takeLower = j >= upperLen
+                    || (i < lowerLen && (xs[li] < xs[ui] || (xs[li] == xs[ui] && ys[li] <= ys[ui])));
+            if (takeLower) {
+                sx[k] = xs[li];
+                sy[k] = ys[li];
+                i++;
+            } else {
+                sx[k] = xs[ui];
+                sy[k] = ys[ui];
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Copy a polygon into coordinate arrays, reversing it if it is clockwise
+     */
+    private static void toCCWArrays(ArrayList<Point> poly, double[] xs, double[] ys) {
+        int n = poly.size();
+        double area = 0;
+        for (int i = 0; i < n; i++) {
+            Point p = poly.get(i);
+            Point q = poly.get((i + 1) % n);
+            area += p.getX() * q.getY() - q.getX() * p.getY();
+        }
+        for (int i = 0; i < n; i++) {
+            Point p = poly.get(area < 0 ? n - 1 - i : i);
+            xs[i] = p.getX();
+            ys[i] = p.getY();
+        }
+    }
+
+    /**
+     * Intersect segments a1-a and b1-b
+     * @param hit receives the intersection point, when there is a single one
+     * @return NONE, PROPER (crossing in both interiors), VERTEX (touching at an
+     *         endpoint) or OVERLAP (collinear and overlapping)
+     */
+    private static int intersectSegments(double a1x, double a1y, double ax, double ay,
+                                         double b1x, double b1y, double bx, double by,
+                                         double[] hit) {
+        double Ax = ax - a1x;
+        double Ay = ay - a1y;
+        double Bx = bx - b1x;
+        double By = by - b1y;
+        double denom = Ax * By - Ay * Bx;
+        if (denom == 0) {
+            if (orient(a1x, a1y, ax, ay, b1x, b1y) != 0) {
+                return NONE;
+            }
+            // collinear, check if the projections onto A overlap
+            double len = Ax * Ax + Ay * Ay;
+            double t0 = ((b1x - a1x) * Ax + (b1y - a1y) * Ay) / len;
+            double t1 = ((bx - a1x) * Ax + (by - a1y) * Ay) / len;
+            return (Math.max(t0, t1) >= 0 && Math.min(t0, t1) <= 1) ? OVERLAP : NONE;
+        }
+        double wx = b1x - a1x;
+        double wy = b1y - a1y;
+        double s = (wx * By - wy * Bx) / denom;
+        double t = (wx * Ay - wy * Ax) / denom;
+        if (s < 0 || s > 1 || t < 0 || t > 1) {
+            return NONE;
+        }
+        hit[0] = a1x + s * Ax;
+        hit[1] = a1y + s * Ay;
+        return (s == 0 || s == 1 || t == 0 || t == 1) ? VERTEX : PROPER;
+    }
+
+    /**
+     * Check if a point is inside or on a convex CCW polygon
+     */
+    private static boolean contains(double[] xs, double[] ys, double x, double y) {
+        int n = xs.length;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            if (orient(xs[i], ys[i], xs[j], ys[j], x, y) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Twice the signed area of triangle o, a, b. Positive when b is left of o-a
+     */
+    private static double orient(double ox, double oy, double ax, double ay, double bx, double by) {
+        return (ax - ox) * (by - oy) - (ay - oy) * (bx - ox);
+    }
+
+    /**
+     * Twice the area of a CCW polygon
+     */
+    private static double area(double[] xs, double[] ys) {
+        int n = xs.length;
+        double area = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            area += xs[i] * ys[j] - xs[j] * ys[i];
+        }
+        return area;
+    }
+
+    private static double average(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private static int sign(double d) {
+        return (d > 0) ? 1 : (d < 0) ? -1 : 0;
+    }
+
+    /**
+     * Add a point to the output unless it repeats the last one
+     */
+    private static void addPoint(ArrayList<Point> out, double x, double y) {
+        if (!out.isEmpty()) {
+            Point last = out.get(out.size() - 1);
+            if (samePoint(last, x, y)) {
+                return;
+            }
+        }
+        out.add(new Point(x, y));
+    }
+
+    private static void addAll(ArrayList<Point> out, double[] xs, double[] ys) {
+        for (int i = 0; i < xs.length; i++) {
+            out.add(new Point(xs[i], ys[i]));
+        }
+    }
+
+    private static boolean samePoint(Point p, Point q) {
+        return samePoint(p, q.getX(), q.getY());
+    }
+
+    // intersection points are computed, so allow for rounding when comparing them
+    private static boolean samePoint(Point p, double x, double y) {
+        double scale = Math.max(1, Math.max(Math.abs(x), Math.abs(y)));
+        return Math.abs(p.getX() - x) <= 1e-9 * scale && Math.abs(p.getY() - y) <= 1e-9 * scale;
+    }
+}
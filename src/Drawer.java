@@ -129,7 +129,9 @@ public class Drawer {
    private void callQuickHull() {
       if (sortedHull.isEmpty()) { 
          // create the Quick Hull object and execute algorithm 
-         QH = new QuickHull(pointSet); 
+         PointDedup dedup = new PointDedup(false); 
+         QH = new QuickHull(dedup.removeDuplicates(pointSet)); 
+         System.out.println("Removed " + dedup.getDuplicatesRemoved() + " duplicate points");
          ArrayList<Point> hull = new ArrayList<Point>(); 
          hull = QH.runQuickHull();
          // remove the old points 
@@ -164,7 +166,14 @@ public class Drawer {
    private void drawPolygon() { 
       Point center = getCenter(); 
       ArrayList<Point> centeredHull = translatePoints(center);
+      TriangulatorEvents.SortCCW event = new TriangulatorEvents.SortCCW(); 
+      event.begin(); 
       sortCCW(centeredHull, center); 
+      event.end(); 
+      if (event.shouldCommit()) { 
+         event.hullSize = sortedHull.size(); 
+         event.commit(); 
+      }
       System.out.println("Sorted Hull");
       canvas.pause(1000); 
       //points.removeAll(); 
@@ -274,6 +283,18 @@ public class Drawer {
       }
    }
 
+   /**
+    * Call the minimum weight triangulation instead of ear clipping
+    */
+   private void callMinWeight() {
+      if (!sortedHull.isEmpty()) { 
+         earClippings = MinWeightTriangulation.triangulate(sortedHull); 
+         triangles = earClippings.get(1);
+         diagonals = earClippings.get(0);  
+         drawTriangles(); 
+      }
+   }
+
    /**
     * Add line segments to the canvas to triangulate the polygon. 
     * Fill in the triangels 
@@ -307,7 +328,8 @@ public class Drawer {
       Button pointGen = createPointsButton();
       Button quickHull = createQHButton(pointGen);
       Button triangulate = createTriangulateButton(quickHull);
-      Button clear = createClearButton(triangulate);
+      Button minWeight = createMinWeightButton(triangulate);
+      Button clear = createClearButton(minWeight);
 
       // create UI box
       addBox(clear.getY() + clear.getHeight() + buttonDiff);
@@ -356,15 +378,30 @@ public class Drawer {
       return triangulate;
    }
 
+   /**
+    * Create the "Min Weight" button
+    * 
+    * @param triangulate previous button created, helps to create the next
+    * @return the new button
+    */
+   private Button createMinWeightButton(Button triangulate) {
+      Button minWeight = new Button("3b) Min Weight");
+      double minWeightY = triangulate.getY() + triangulate.getHeight() + buttonDiff;
+      minWeight.setCenter(xPos, minWeightY);
+      buttons.add(minWeight);
+      minWeight.onClick(() -> callMinWeight());
+      return minWeight;
+   }
+
    /**
     * Create the "Clear Window" button
     * 
-    * @param triangulate
+    * @param minWeight
     * @return the new button
     */
-   private Button createClearButton(Button triangulate) {
+   private Button createClearButton(Button minWeight) {
       Button clear = new Button("4) Clear Window");
-      double clearY = triangulate.getY() + triangulate.getHeight() + buttonDiff;
+      double clearY = minWeight.getY() + minWeight.getHeight() + buttonDiff;
       clear.setCenter(xPos, clearY);
       buttons.add(clear);
       clear.onClick(() -> removePoints());
@@ -13,6 +13,21 @@ public class EarClipping {
      * @return A list holding a list of diagonals and a list of triangles 
      */
     public static ArrayList<ArrayList<ArrayList<Point>>> clipEars(ArrayList<Point> V) { 
+        return clipEars(V, new CancellationToken()); 
+    }
+
+    /**
+     * Triangulate a convex polygon using ear clipping until it finishes or the token is 
+     * cancelled. A cancelled run returns the triangles and diagonals clipped so far, and 
+     * V is left holding the part of the polygon that was not triangulated 
+     * @param V Linked List representing convex polygon 
+     * @param token checked before each ear is clipped, and given the progress 
+     * @return A list holding a list of diagonals and a list of triangles 
+     */
+    public static ArrayList<ArrayList<ArrayList<Point>>> clipEars(ArrayList<Point> V, CancellationToken token) { 
+        TriangulatorEvents.ClipEars event = new TriangulatorEvents.ClipEars(); 
+        event.begin(); 
+        int inputSize = V.size(); 
         
         // Create circular doubly linked list of points, and list to store diagonals
         CircularLinkedList<Point> vertices = new CircularLinkedList<>();
@@ -29,7 +44,7 @@ public class EarClipping {
         int vertices_size = V.size();
         Node<Point> headNode = vertices.getHead();
         
-        while (vertices_size > 3){
+        while (vertices_size > 3 && !token.isCancelled()){
 
             // Get the set of 3 points we are considering as a potential ear
             Point v0;
@@ -61,21 +76,40 @@ public class EarClipping {
                 vertices.delete(v1);
                 V.remove(v1);
                 vertices_size = vertices_size - 1;
+                token.addTrianglesEmitted(1); 
             }   
             
             headNode = headNode.getNext().getNext();
         } 
 
-        // add the last triangle
-        ArrayList<Point> a_triangle = new ArrayList<>();
-        a_triangle.add(V.get(0)); 
-        a_triangle.add(V.get(1)); 
-        a_triangle.add(V.get(2)); 
-        triangles.add(a_triangle);
+        // add the last triangle, unless the run was cancelled first 
+        if (vertices_size == 3) { 
+            ArrayList<Point> a_triangle = new ArrayList<>();
+            a_triangle.add(V.get(0)); 
+            a_triangle.add(V.get(1)); 
+            a_triangle.add(V.get(2)); 
+            triangles.add(a_triangle);
+            token.addTrianglesEmitted(1); 
+        }
 
         // return the lists 
         retLists.add(diagonals); 
         retLists.add(triangles);
+        event.end(); 
+        if (event.shouldCommit()) { 
+            event.inputSize = inputSize; 
+            event.trianglesProduced = triangles.size(); 
+            event.commit(); 
+        }
         return retLists; 
     }
+
+    /**
+     * Triangulate a convex polygon using ear clipping, keeping the triangle adjacency 
+     * @param V Linked List representing convex polygon 
+     * @return the triangles as a half-edge mesh 
+     */
+    public static HalfEdgeMesh clipEarsToMesh(ArrayList<Point> V) { 
+        return new HalfEdgeMesh(clipEars(V).get(1)); 
+    }
 }
@@ -0,0 +1,298 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class stores a triangulation as a half-edge mesh, so that neighboring
+ * triangles can be found without searching. Every triangle owns three half-edges,
+ * one along each of its sides, and a side shared by two triangles is made of two
+ * half-edges running in opposite directions, each other's twins.
+ *
+ * Triangle f owns half-edges 3f, 3f+1 and 3f+2, in CCW order. For half-edge h:
+ *
+ *    vertex[h] - the vertex h starts at
+ *    next[h]   - the next half-edge CCW around the same triangle
+ *    twin[h]   - the half-edge running the other way along the same side, or -1 if
+ *                the side is on the boundary
+ *    face[h]   - the triangle h belongs to
+ *
+ * Everything is kept in flat int arrays, so walking the mesh never touches a hash map
+ * or allocates.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class HalfEdgeMesh {
+
+    // vertex coordinates, shared corners of the triangles are stored once
+    private final double[] xs;
+    private final double[] ys;
+    private final int numVertices;
+
+    private final int[] vertex;
+    private final int[] next;
+    private final int[] twin;
+    private final int[] face;
+    private final int numFaces;
+
+    // one half-edge leaving each vertex, a boundary one if the vertex has one
+    private final int[] outgoing;
+
+    // constructor
+    public HalfEdgeMesh(ArrayList<ArrayList<Point>> triangles) {
+        numFaces = triangles.size();
+        int numHalfEdges = 3 * numFaces;
+        vertex = new int[numHalfEdges];
+        next = new int[numHalfEdges];
+        twin = new int[numHalfEdges];
+        face = new int[numHalfEdges];
+
+        // give each distinct corner a vertex id. Corners are looked up by a hash of
+        // their coordinates, and the vertices sharing a hash are chained through
+        // sameHash in case two different corners ever collide
+        double[] vx = new double[numHalfEdges];
+        double[] vy = new double[numHalfEdges];
+        int[] sameHash = new int[numHalfEdges];
+        LongIntHashMap byHash = new LongIntHashMap(numHalfEdges);
+        int count = 0;
+        for (int f = 0; f < numFaces; f++) {
+            ArrayList<Point> tri = triangles.get(f);
+            for (int k = 0; k < 3; k++) {
+                Point p = tri.get(k);
+                double x = p.getX();
+                double y = p.getY();
+                long h = LongIntHashMap.coordinateKey(x, y);
+                int first = byHash.get(h);
+                int v = first;
+                while (v >= 0 && (vx[v] != x || vy[v] != y)) {
+                    v = sameHash[v];
+                }
+                if (v < 0) {
+                    v = count++;
+                    vx[v] = x;
+                    vy[v] = y;
+                    sameHash[v] = first;
+                    byHash.put(h, v);
+                }
+                vertex[3*f + k] = v;
+            }
+            // keep every triangle CCW, so twins run in opposite directions
+            int a = vertex[3*f];
+            int b = vertex[3*f + 1];
+            int c = vertex[3*f + 2];
+            if ((vx[b] - vx[a]) * (vy[c] - vy[a]) - (vy[b] - vy[a]) * (vx[c] - vx[a]) < 0) {
+                vertex[3*f + 1] = c;
+                vertex[3*f + 2] = b;
+            }
+            for (int k = 0; k < 3; k++) {
+                next[3*f + k] = 3*f + (k + 1) % 3;
+                face[3*f + k] = f;
+            }
+        }
+        numVertices = count;
+        xs = Arrays.copyOf(vx, count);
+        ys = Arrays.copyOf(vy, count);
+
+        linkTwins();
+
+        outgoing = new int[numVertices];
+        Arrays.fill(outgoing, -1);
+        for (int h = 0; h < numHalfEdges; h++) {
+            int v = vertex[h];
+            if (outgoing[v] < 0 || twin[h] < 0) {
+                outgoing[v] = h;
+            }
+        }
+    }
+
+    /**
+     * Pair up the half-edges along each shared side. A side is keyed by its two vertex
+     * ids, lower id first, and the first half-edge seen on a side waits in a hash map
+     * for the second
+     */
+    private void linkTwins() {
+        int numHalfEdges = vertex.length;
+        Arrays.fill(twin, -1);
+        LongIntHashMap waiting = new LongIntHashMap(numHalfEdges);
+        for (int h = 0; h < numHalfEdges; h++) {
+            int a = vertex[h];
+            int b = vertex[next[h]];
+            long key = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            int other = waiting.putIfAbsent(key, h);
+            if (other >= 0 && twin[other] < 0 && vertex[other] == b) {
+                twin[h] = other;
+                twin[other] = h;
+            }
+            // a third triangle on the same side, or one facing the wrong way, is left
+            // without a twin
+        }
+    }
+
+    /**
+     * @return the triangle across side k of triangle f, or -1 if that side is on the
+     * boundary. Side k runs from corner k to corner k+1
+     */
+    public int neighbor(int f, int k) {
+        int t = twin[3*f + k];
+        return (t < 0) ? -1 : face[t];
+    }
+
+    /**
+     * @return one half-edge of each side, so every side is visited exactly once. Boundary
+     * sides give their only half-edge, shared sides the one with the lower id
+     */
+    public int[] edges() {
+        int[] out = new int[numEdges()];
+        int e = 0;
+        for (int h = 0; h < vertex.length; h++) {
+            if (twin[h] < h) {
+                out[e++] = h;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return the number of distinct sides in the mesh
+     */
+    public int numEdges() {
+        int e = 0;
+        for (int h = 0; h < vertex.length; h++) {
+            if (twin[h] < h) {
+                e++;
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Cover the mesh with triangle strips. A strip of k vertices holds the k-2
+     * triangles made by each run of three consecutive vertices, with every second
+     * triangle listed CW. Strips are grown greedily across unvisited neighbors, so every
+     * triangle lands in exactly one strip
+     * @return the vertex ids of each strip
+     */
+    public ArrayList<int[]> toStrips() {
+        ArrayList<int[]> strips = new ArrayList<int[]>();
+        boolean[] used = new boolean[numFaces];
+        int[] buffer = new int[numFaces + 2];
+        for (int f = 0; f < numFaces; f++) {
+            if (used[f]) {
+                continue;
+            }
+            // leave the first triangle through a side with an unvisited neighbor
+            int h = 3*f;
+            for (int k = 0; k < 3; k++) {
+                int t = twin[3*f + k];
+                if (t >= 0 && !used[face[t]]) {
+                    h = 3*f + k;
+                    break;
+                }
+            }
+            used[f] = true;
+            buffer[0] = vertex[next[next[h]]];
+            buffer[1] = vertex[h];
+            buffer[2] = vertex[next[h]];
+            int length = 3;
+
+            // h is the side the strip leaves the current triangle through. Entering
+            // through t, the side across from the newest vertex alternates between
+            // next[next[t]] and next[t]
+            boolean odd = true;
+            int t = twin[h];
+            while (t >= 0 && !used[face[t]]) {
+                used[face[t]] = true;
+                buffer[length++] = vertex[next[next[t]]];
+                h = odd ? next[next[t]] : next[t];
+                odd = !odd;
+                t = twin[h];
+            }
+            strips.add(Arrays.copyOf(buffer, length));
+        }
+        return strips;
+    }
+
+    /**
+     * @return the triangles of the mesh, CCW, as lists of three points
+     */
+    public ArrayList<ArrayList<Point>> getTriangles() {
+        ArrayList<ArrayList<Point>> triangles = new ArrayList<ArrayList<Point>>();
+        for (int f = 0; f < numFaces; f++) {
+            ArrayList<Point> tri = new ArrayList<Point>();
+            for (int k = 0; k < 3; k++) {
+                tri.add(getPoint(vertex[3*f + k]));
+            }
+            triangles.add(tri);
+        }
+        return triangles;
+    }
+
+    /**
+     * @return the vertex half-edge h starts at
+     */
+    public int vertex(int h) {
+        return vertex[h];
+    }
+
+    /**
+     * @return the next half-edge CCW around h's triangle
+     */
+    public int next(int h) {
+        return next[h];
+    }
+
+    /**
+     * @return the previous half-edge CCW around h's triangle
+     */
+    public int prev(int h) {
+        return next[next[h]];
+    }
+
+    /**
+     * @return the half-edge running the other way along h's side, or -1 on the boundary
+     */
+    public int twin(int h) {
+        return twin[h];
+    }
+
+    /**
+     * @return the triangle half-edge h belongs to
+     */
+    public int face(int h) {
+        return face[h];
+    }
+
+    /**
+     * @return a half-edge starting at vertex v, on the boundary if v is. Turning CCW
+     * around v from it with twin(prev(h)) visits every triangle around v
+     */
+    public int outgoing(int v) {
+        return outgoing[v];
+    }
+
+    public boolean isBoundary(int h) {
+        return twin[h] < 0;
+    }
+
+    public double getX(int v) {
+        return xs[v];
+    }
+
+    public double getY(int v) {
+        return ys[v];
+    }
+
+    public Point getPoint(int v) {
+        return new Point(xs[v], ys[v]);
+    }
+
+    public int numVertices() {
+        return numVertices;
+    }
+
+    public int numFaces() {
+        return numFaces;
+    }
+
+    public int numHalfEdges() {
+        return vertex.length;
+    }
+}
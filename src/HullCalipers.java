@@ -0,0 +1,220 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class measures a convex hull with rotating calipers: its diameter (farthest
+ * pair of points), its minimum width, and its minimum area bounding rectangle. All
+ * three come out of one O(h) pass over the hull edges.
+ *
+ * For each hull edge three pointers are kept: the vertex farthest from the edge, and
+ * the vertices farthest forward and backward along it. As the edge turns CCW each
+ * pointer only ever moves forward, so every pointer makes one trip around the hull.
+ * The loop compares squared lengths, cross products and dot products only, so it needs
+ * no trig and no square roots.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class HullCalipers {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int n;
+
+    // results
+    private int diamA;
+    private int diamB;
+    private double diameterSq;
+    private double width;
+    private double rectArea;
+    private Point[] rectCorners;
+
+    // constructor
+    public HullCalipers(ArrayList<Point> hull) {
+        double[] hx = new double[hull.size()];
+        double[] hy = new double[hull.size()];
+        this.n = HullMembership.cleanHull(hull, hx, hy);
+        this.xs = hx;
+        this.ys = hy;
+        if (n < 3) {
+            measureDegenerate();
+        } else {
+            measure();
+        }
+    }
+
+    /**
+     * Sweep the calipers around the hull
+     */
+    private void measure() {
+        int j = 1;     // farthest from the edge
+        int r = 1;     // farthest forward along the edge
+        int l = 1;     // farthest backward along the edge
+        double bestWidthSq = Double.MAX_VALUE;
+        double bestArea = Double.MAX_VALUE;
+        int bestEdge = 0;
+        double bestLo = 0;
+        double bestHi = 0;
+        double bestHeight = 0;
+
+        for (int i = 0; i < n; i++) {
+            int i1 = (i + 1) % n;
+            double ex = xs[i1] - xs[i];
+            double ey = ys[i1] - ys[i];
+            double lenSq = ex * ex + ey * ey;
+
+            // antipodal vertex, checking the farthest pair as it moves
+            while (cross(ex, ey, i, (j + 1) % n) > cross(ex, ey, i, j)) {
+                j = (j + 1) % n;
+            }
+            checkPair(i, j);
+            checkPair(i1, j);
+            // an edge parallel to this one has two antipodal vertices
+            if (cross(ex, ey, i, (j + 1) % n) == cross(ex, ey, i, j)) {
+                checkPair(i, (j + 1) % n);
+                checkPair(i1, (j + 1) % n);
+            }
+            double height = cross(ex, ey, i, j);
+
+            // the forward pointer can not be behind the edge's own head
+            if (i == 0) {
+                r = i1;
+            }
+            while (dot(ex, ey, i, (r + 1) % n) > dot(ex, ey, i, r)) {
+                r = (r + 1) % n;
+            }
+            // the backward pointer sits past the antipodal vertex
+            if (i == 0) {
+                l = j;
+            }
+            while (dot(ex, ey, i, (l + 1) % n) < dot(ex, ey, i, l)) {
+                l = (l + 1) % n;
+            }
+
+            // height and extents are scaled by |e| and |e| respectively, so divide
+            // by |e|^2 to compare them between edges
+            double widthSq = height * height / lenSq;
+            if (widthSq < bestWidthSq) {
+                bestWidthSq = widthSq;
+            }
+            double lo = dot(ex, ey, i, l);
+            double hi = dot(ex, ey, i, r);
+            double area = height * (hi - lo) / lenSq;
+            if (area < bestArea) {
+                bestArea = area;
+                bestEdge = i;
+                bestLo = lo;
+                bestHi = hi;
+                bestHeight = height;
+            }
+        }
+
+        this.width = Math.sqrt(bestWidthSq);
+        this.rectArea = bestArea;
+
+        // build the rectangle corners from the best edge, once
+        int i1 = (bestEdge + 1) % n;
+        double ex = xs[i1] - xs[bestEdge];
+        double ey = ys[i1] - ys[bestEdge];
+        double lenSq = ex * ex + ey * ey;
+        double ox = xs[bestEdge];
+        double oy = ys[bestEdge];
+        double loX = ox + ex * bestLo / lenSq;
+        double loY = oy + ey * bestLo / lenSq;
+        double hiX = ox + ex * bestHi / lenSq;
+        double hiY = oy + ey * bestHi / lenSq;
+        // the inward normal, (-ey, ex), scaled to the rectangle's height
+        double nx = -ey * bestHeight / lenSq;
+        double ny = ex * bestHeight / lenSq;
+        this.rectCorners = new Point[] {
+            new Point(loX, loY),
+            new Point(hiX, hiY),
+            new Point(hiX + nx, hiY + ny),
+            new Point(loX + nx, loY + ny)
+        };
+    }
+
+    /**
+     * A hull of one or two points has no width and no rectangle area
+     */
+    private void measureDegenerate() {
+        diamA = 0;
+        diamB = (n == 2) ? 1 : 0;
+        diameterSq = (n == 2) ? distSq(0, 1) : 0;
+        width = 0;
+        rectArea = 0;
+        rectCorners = new Point[4];
+        for (int k = 0; k < 4; k++) {
+            int v = (n == 0) ? -1 : (k == 1 || k == 2) ? diamB : diamA;
+            rectCorners[k] = (v < 0) ? new Point(0, 0) : new Point(xs[v], ys[v]);
+        }
+    }
+
+    private void checkPair(int a, int b) {
+        double d = distSq(a, b);
+        if (d > diameterSq) {
+            diameterSq = d;
+            diamA = a;
+            diamB = b;
+        }
+    }
+
+    private double distSq(int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Cross product of edge vector e with the vector from vertex i to vertex v, which
+     * is |e| times the distance of v from the edge's line
+     */
+    private double cross(double ex, double ey, int i, int v) {
+        return ex * (ys[v] - ys[i]) - ey * (xs[v] - xs[i]);
+    }
+
+    /**
+     * Dot product of edge vector e with the vector from vertex i to vertex v, which is
+     * |e| times how far v projects along the edge
+     */
+    private double dot(double ex, double ey, int i, int v) {
+        return ex * (xs[v] - xs[i]) + ey * (ys[v] - ys[i]);
+    }
+
+    /**
+     * @return the largest distance between two hull points
+     */
+    public double getDiameter() {
+        return Math.sqrt(diameterSq);
+    }
+
+    /**
+     * @return the two hull points that are farthest apart
+     */
+    public Point[] getDiameterPoints() {
+        if (n == 0) {
+            return new Point[0];
+        }
+        return new Point[] {new Point(xs[diamA], ys[diamA]), new Point(xs[diamB], ys[diamB])};
+    }
+
+    /**
+     * @return the smallest distance between two parallel lines enclosing the hull
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the area of the smallest rectangle enclosing the hull
+     */
+    public double getMinRectangleArea() {
+        return rectArea;
+    }
+
+    /**
+     * @return the four corners of the smallest rectangle enclosing the hull, CCW
+     */
+    public ArrayList<Point> getMinRectangle() {
+        return new ArrayList<Point>(Arrays.asList(rectCorners));
+    }
+}
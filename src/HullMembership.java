@@ -0,0 +1,229 @@
+import java.util.*;
+import java.util.stream.IntStream;
+import edu.macalester.graphics.*;
+
+/**
+ * This class tests points for membership in a convex hull in O(log h) time. The hull
+ * is split into a fan of wedges around its lowest leftmost vertex, and a query binary
+ * searches for the wedge it falls in before making one edge test.
+ *
+ * The hull is copied into primitive arrays and never changes, so a single instance can
+ * be shared by any number of threads.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class HullMembership {
+
+    public static final byte INSIDE = 1;
+    public static final byte ON_BOUNDARY = 0;
+    public static final byte OUTSIDE = -1;
+
+    // queries per task when classifying in parallel
+    private static final int BLOCK_SIZE = 1 << 14;
+
+    // hull vertices in CCW order, starting at the pivot, without repeats or collinear
+    // vertices
+    private final double[] xs;
+    private final double[] ys;
+    private final int n;
+
+    // constructor
+    public HullMembership(ArrayList<Point> hull) {
+        double[] hx = new double[hull.size()];
+        double[] hy = new double[hull.size()];
+        this.n = cleanHull(hull, hx, hy);
+        this.xs = Arrays.copyOf(hx, n);
+        this.ys = Arrays.copyOf(hy, n);
+    }
+
+    /**
+     * Copy a convex hull into coordinate arrays in CCW order, starting at its lowest
+     * leftmost vertex, without repeated or collinear vertices. A hull whose points are
+     * all collinear is reduced to the two ends of the segment
+     * @param hull the hull points in CCW or CW order
+     * @param xs receives the x coordinates, at least hull.size() long
+     * @param ys receives the y coordinates, at least hull.size() long
+     * @return the number of vertices written
+     */
+    static int cleanHull(ArrayList<Point> hull, double[] xs, double[] ys) {
+        int size = hull.size();
+        double[] hx = new double[size];
+        double[] hy = new double[size];
+        double area = 0;
+        for (int i = 0; i < size; i++) {
+            Point p = hull.get(i);
+            Point q = hull.get((i + 1) % size);
+            area += p.getX() * q.getY() - q.getX() * p.getY();
+        }
+        // reverse clockwise hulls
+        for (int i = 0; i < size; i++) {
+            Point p = hull.get(area < 0 ? size - 1 - i : i);
+            hx[i] = p.getX();
+            hy[i] = p.getY();
+        }
+
+        // drop repeated vertices, then collinear ones, they would make empty wedges
+        int[] distinct = new int[size];
+        int d = 0;
+        for (int i = 0; i < size; i++) {
+            int last = (d > 0) ? distinct[d - 1] : -1;
+            if (last < 0 || hx[i] != hx[last] || hy[i] != hy[last]) {
+                distinct[d++] = i;
+            }
+        }
+        while (d > 1 && hx[distinct[d - 1]] == hx[distinct[0]] && hy[distinct[d - 1]] == hy[distinct[0]]) {
+            d--;
+        }
+        int[] keep = new int[size];
+        int k = 0;
+        for (int i = 0; i < d; i++) {
+            int prev = distinct[(i + d - 1) % d];
+            int cur = distinct[i];
+            int next = distinct[(i + 1) % d];
+            if (d <= 2 || orient(hx[prev], hy[prev], hx[cur], hy[cur], hx[next], hy[next]) != 0) {
+                keep[k++] = cur;
+            }
+        }
+        if (k == 0 && size > 0) {
+            // every vertex is collinear, keep the two ends of the segment
+            int lo = 0;
+            int hi = 0;
+            for (int i = 1; i < size; i++) {
+                if (hx[i] < hx[lo] || (hx[i] == hx[lo] && hy[i] < hy[lo])) lo = i;
+                if (hx[i] > hx[hi] || (hx[i] == hx[hi] && hy[i] > hy[hi])) hi = i;
+            }
+            keep[k++] = lo;
+            if (hi != lo && (hx[hi] != hx[lo] || hy[hi] != hy[lo])) {
+                keep[k++] = hi;
+            }
+        }
+
+        // start the fan at the lowest leftmost vertex
+        int pivot = 0;
+        for (int i = 1; i < k; i++) {
+            int a = keep[i];
+            int b = keep[pivot];
+            if (hx[a] < hx[b] || (hx[a] == hx[b] && hy[a] < hy[b])) {
+                pivot = i;
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            int src = keep[(pivot + i) % k];
+            xs[i] = hx[src];
+            ys[i] = hy[src];
+        }
+        return k;
+    }
+
+    /**
+     * Classify a point against the hull
+     * @param x the x coordinate of the query
+     * @param y the y coordinate of the query
+     * @return INSIDE, ON_BOUNDARY or OUTSIDE
+     */
+    public byte classify(double x, double y) {
+        if (n < 3) {
+            return classifyDegenerate(x, y);
+        }
+        double x0 = xs[0];
+        double y0 = ys[0];
+        // outside the fan altogether
+        double first = orient(x0, y0, xs[1], ys[1], x, y);
+        double last = orient(x0, y0, xs[n - 1], ys[n - 1], x, y);
+        if (first < 0 || last > 0) {
+            return OUTSIDE;
+        }
+
+        // find the last fan ray (x0, y0) -> i that the query is not clockwise of
+        int lo = 1;
+        int hi = n - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (orient(x0, y0, xs[mid], ys[mid], x, y) >= 0) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        // the query is in the wedge (0, lo, lo + 1), check the hull edge closing it
+        double edge = orient(xs[lo], ys[lo], xs[lo + 1], ys[lo + 1], x, y);
+        if (edge < 0) {
+            return OUTSIDE;
+        }
+        if (edge == 0) {
+            return ON_BOUNDARY;
+        }
+        // the two outer rays of the fan are hull edges too
+        if ((lo == 1 && first == 0) || (lo == n - 2 && last == 0)) {
+            return ON_BOUNDARY;
+        }
+        return INSIDE;
+    }
+
+    /**
+     * Classify a batch of points. The coordinate arrays and the output array must all
+     * have the same length
+     * @param qx the x coordinates of the queries
+     * @param qy the y coordinates of the queries
+     * @param out receives INSIDE, ON_BOUNDARY or OUTSIDE for each query
+     */
+    public void classify(double[] qx, double[] qy, byte[] out) {
+        classify(qx, qy, out, 0, qx.length);
+    }
+
+    /**
+     * Classify the queries in the range [from, to). Disjoint ranges can be handed to
+     * different threads
+     */
+    public void classify(double[] qx, double[] qy, byte[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = classify(qx[i], qy[i]);
+        }
+    }
+
+    /**
+     * Classify a batch of points, split into blocks across the common fork/join pool
+     * @param qx the x coordinates of the queries
+     * @param qy the y coordinates of the queries
+     * @param out receives INSIDE, ON_BOUNDARY or OUTSIDE for each query
+     */
+    public void classifyParallel(double[] qx, double[] qy, byte[] out) {
+        int total = qx.length;
+        int blocks = (total + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(b ->
+                classify(qx, qy, out, b * BLOCK_SIZE, Math.min(total, (b + 1) * BLOCK_SIZE)));
+    }
+
+    /**
+     * Classify against a hull of fewer than three vertices, a point or a segment
+     */
+    private byte classifyDegenerate(double x, double y) {
+        if (n == 0) {
+            return OUTSIDE;
+        }
+        if (n == 1) {
+            return (x == xs[0] && y == ys[0]) ? ON_BOUNDARY : OUTSIDE;
+        }
+        if (orient(xs[0], ys[0], xs[1], ys[1], x, y) != 0) {
+            return OUTSIDE;
+        }
+        boolean between = Math.min(xs[0], xs[1]) <= x && x <= Math.max(xs[0], xs[1])
+                && Math.min(ys[0], ys[1]) <= y && y <= Math.max(ys[0], ys[1]);
+        return between ? ON_BOUNDARY : OUTSIDE;
+    }
+
+    /**
+     * Twice the signed area of triangle o, a, b. Positive when b is left of o-a
+     */
+    private static double orient(double ox, double oy, double ax, double ay, double bx, double by) {
+        return (ax - ox) * (by - oy) - (ay - oy) * (bx - ox);
+    }
+
+    /**
+     * @return the number of hull vertices used for queries
+     */
+    public int size() {
+        return n;
+    }
+}
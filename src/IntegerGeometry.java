@@ -0,0 +1,299 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class runs the hull and triangulation stages exactly on integer coordinates.
+ * Each point is packed into one long, x in the high 32 bits and y in the low 32, so
+ * a point costs 8 bytes instead of a Point object, and sorting the longs sorts the
+ * points by x then y.
+ *
+ * Orientation tests are exact. Coordinate differences fit in 33 bits, so the cross
+ * product terms fit in 66; when the differences fit in an int the terms are compared
+ * as plain longs, otherwise as 128 bit products built with Math.multiplyHigh.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class IntegerGeometry {
+
+    // flips the sign bit of y so that its low 32 bits sort as unsigned
+    private static final long Y_BIAS = 0x80000000L;
+
+    /**
+     * Pack a point into a long
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | ((y ^ Y_BIAS) & 0xffffffffL);
+    }
+
+    public static int x(long p) {
+        return (int) (p >> 32);
+    }
+
+    public static int y(long p) {
+        return (int) (p ^ Y_BIAS);
+    }
+
+    /**
+     * Pack a list of points with integer coordinates, such as those made by
+     * Drawer.generatePoints
+     * @param points the points to pack
+     * @return one long per point, in the same order
+     */
+    public static long[] pack(ArrayList<Point> points) {
+        long[] packed = new long[points.size()];
+        for (int i = 0; i < packed.length; i++) {
+            Point p = points.get(i);
+            int x = (int) p.getX();
+            int y = (int) p.getY();
+            if (x != p.getX() || y != p.getY()) {
+                throw new IllegalArgumentException("point " + i + " is not on the integer grid: " + p);
+            }
+            packed[i] = pack(x, y);
+        }
+        return packed;
+    }
+
+    /**
+     * @return the packed points as Point objects
+     */
+    public static ArrayList<Point> toPoints(long[] packed) {
+        ArrayList<Point> points = new ArrayList<Point>(packed.length);
+        for (long p : packed) {
+            points.add(new Point(x(p), y(p)));
+        }
+        return points;
+    }
+
+    /**
+     * Exact orientation of c relative to the line a-b
+     * @return 1 if c is left of a-b (CCW), -1 if right (CW), 0 if collinear
+     */
+    public static int orient(long a, long b, long c) {
+        long ax = x(a);
+        long ay = y(a);
+        long dx1 = x(b) - ax;
+        long dy1 = y(b) - ay;
+        long dx2 = x(c) - ax;
+        long dy2 = y(c) - ay;
+        if (dx1 == (int) dx1 && dy1 == (int) dy1 && dx2 == (int) dx2 && dy2 == (int) dy2) {
+            // each term is under 2^62, so their difference can not overflow
+            return Long.signum(dx1 * dy2 - dy1 * dx2);
+        }
+        // compare the two terms as signed 128 bit values, high words first
+        long hi1 = Math.multiplyHigh(dx1, dy2);
+        long hi2 = Math.multiplyHigh(dy1, dx2);
+        if (hi1 != hi2) {
+            return (hi1 > hi2) ? 1 : -1;
+        }
+        return Integer.signum(Long.compareUnsigned(dx1 * dy2, dy1 * dx2));
+    }
+
+    /**
+     * Find the convex hull with Andrew's monotone chain
+     * @param points packed points, any order, repeats allowed. Not modified
+     * @return the hull vertices in CCW order, starting at the lowest leftmost point,
+     * without collinear vertices
+     */
+    public static long[] convexHull(long[] points) {
+        long[] sorted = points.clone();
+        Arrays.sort(sorted);
+        int m = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (m == 0 || sorted[i] != sorted[m - 1]) {
+                sorted[m++] = sorted[i];
+            }
+        }
+        if (m < 3) {
+            return Arrays.copyOf(sorted, m);
+        }
+
+        long[] hull = new long[2 * m];
+        int k = 0;
+        // lower chain, left to right
+        for (int i = 0; i < m; i++) {
+            while (k >= 2 && orient(hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        // upper chain, right to left
+        int lower = k + 1;
+        for (int i = m - 2; i >= 0; i--) {
+            while (k >= lower && orient(hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        // the last point is the first one again, unless all points were collinear
+        // and the chains have met at a two point hull
+        return Arrays.copyOf(hull, Math.max(k - 1, 2));
+    }
+
+    /**
+     * Triangulate a simple polygon by ear clipping with exact tests. A vertex is an ear
+     * if it is convex and no reflex vertex lies in the triangle it makes with its
+     * neighbors, and only reflex vertices need checking, so a convex polygon such as a
+     * hull is triangulated in linear time
+     * @param polygon packed vertices in CCW or CW order
+     * @return three polygon indices per triangle, each triangle CCW. Triangle k was cut
+     * off along the diagonal from its first to its third index
+     */
+    public static int[] triangulate(long[] polygon) {
+        int n = polygon.length;
+        if (n < 3) {
+            return new int[0];
+        }
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        // walk the polygon CCW, the lowest leftmost vertex is always convex
+        int start = 0;
+        for (int i = 1; i < n; i++) {
+            if (polygon[i] < polygon[start]) {
+                start = i;
+            }
+        }
+        boolean ccw = orient(polygon[(start + n - 1) % n], polygon[start], polygon[(start + 1) % n]) >= 0;
+        for (int i = 0; i < n; i++) {
+            int before = (i + n - 1) % n;
+            int after = (i + 1) % n;
+            prev[i] = ccw ? before : after;
+            next[i] = ccw ? after : before;
+        }
+
+        // list the reflex vertices, clipping ears only ever makes them convex
+        boolean[] reflex = new boolean[n];
+        int[] reflexList = new int[n];
+        int numReflex = 0;
+        int liveReflex = 0;
+        for (int i = 0; i < n; i++) {
+            if (orient(polygon[prev[i]], polygon[i], polygon[next[i]]) < 0) {
+                reflex[i] = true;
+                reflexList[numReflex++] = i;
+                liveReflex++;
+            }
+        }
+
+        int[] triangles = new int[3 * (n - 2)];
+        int t = 0;
+        int remaining = n;
+        int v = start;
+        int misses = 0;
+        while (remaining > 3) {
+            // after a full lap without an ear the polygon is not simple, or only
+            // degenerate ears are left, so clip anyway to finish
+            boolean stuck = misses > remaining;
+            if (stuck || isEar(polygon, prev, next, reflex, reflexList, numReflex, v)) {
+                int a = prev[v];
+                int c = next[v];
+                triangles[t++] = a;
+                triangles[t++] = v;
+                triangles[t++] = c;
+                next[a] = c;
+                prev[c] = a;
+                remaining--;
+                misses = 0;
+                // the neighbors may have stopped being reflex
+                if (reflex[a] && orient(polygon[prev[a]], polygon[a], polygon[c]) > 0) {
+                    reflex[a] = false;
+                    liveReflex--;
+                }
+                if (reflex[c] && orient(polygon[a], polygon[c], polygon[next[c]]) > 0) {
+                    reflex[c] = false;
+                    liveReflex--;
+                }
+                if (reflex[v]) {
+                    reflex[v] = false;
+                    liveReflex--;
+                }
+                // step back so the new corner at a is tried next
+                v = a;
+                // drop reflex vertices that are gone or convex now, once enough have
+                // piled up to be worth a pass
+                if (numReflex > 32 && 4 * liveReflex < numReflex) {
+                    numReflex = compact(reflex, reflexList, numReflex);
+                }
+            } else {
+                v = next[v];
+                misses++;
+            }
+        }
+        triangles[t++] = prev[v];
+        triangles[t++] = v;
+        triangles[t++] = next[v];
+        return triangles;
+    }
+
+    /**
+     * An ear is a strictly convex corner whose triangle holds no other reflex vertex
+     */
+    private static boolean isEar(long[] polygon, int[] prev, int[] next, boolean[] reflex,
+                                 int[] reflexList, int numReflex, int v) {
+        int a = prev[v];
+        int c = next[v];
+        long pa = polygon[a];
+        long pv = polygon[v];
+        long pc = polygon[c];
+        if (orient(pa, pv, pc) <= 0) {
+            return false;
+        }
+        for (int i = 0; i < numReflex; i++) {
+            int r = reflexList[i];
+            if (!reflex[r] || r == a || r == c) {
+                continue;
+            }
+            long p = polygon[r];
+            // a repeat of a corner touches the triangle but is not in it
+            if (p == pa || p == pv || p == pc) {
+                continue;
+            }
+            if (orient(pa, pv, p) >= 0 && orient(pv, pc, p) >= 0 && orient(pc, pa, p) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compact(boolean[] reflex, int[] reflexList, int numReflex) {
+        int live = 0;
+        for (int i = 0; i < numReflex; i++) {
+            if (reflex[reflexList[i]]) {
+                reflexList[live++] = reflexList[i];
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Run both stages on integer points, the exact counterpart of QuickHull followed by
+     * EarClipping
+     * @param points points with integer coordinates
+     * @return a list holding a list of diagonals and a list of triangles, like
+     * EarClipping.clipEars
+     */
+    public static ArrayList<ArrayList<ArrayList<Point>>> triangulateHull(ArrayList<Point> points) {
+        long[] hull = convexHull(pack(points));
+        int[] tris = triangulate(hull);
+        ArrayList<ArrayList<Point>> diagonals = new ArrayList<ArrayList<Point>>();
+        ArrayList<ArrayList<Point>> triangles = new ArrayList<ArrayList<Point>>();
+        ArrayList<Point> corners = toPoints(hull);
+        int numTriangles = tris.length / 3;
+        for (int k = 0; k < numTriangles; k++) {
+            ArrayList<Point> triangle = new ArrayList<Point>();
+            triangle.add(corners.get(tris[3*k]));
+            triangle.add(corners.get(tris[3*k + 1]));
+            triangle.add(corners.get(tris[3*k + 2]));
+            triangles.add(triangle);
+            // every triangle but the last was cut off along a diagonal
+            if (k < numTriangles - 1) {
+                ArrayList<Point> diagonal = new ArrayList<Point>();
+                diagonal.add(corners.get(tris[3*k]));
+                diagonal.add(corners.get(tris[3*k + 2]));
+                diagonals.add(diagonal);
+            }
+        }
+        ArrayList<ArrayList<ArrayList<Point>>> retLists = new ArrayList<ArrayList<ArrayList<Point>>>();
+        retLists.add(diagonals);
+        retLists.add(triangles);
+        return retLists;
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.*;
+
+/**
+ * A map from long keys to non-negative int values, stored in two parallel arrays
+ * with open addressing and linear probing, so lookups never box a key. This is the
+ * one hash table the geometry classes share: PointDedup and HalfEdgeMesh key it by
+ * coordinate hashes, HalfEdgeMesh also by vertex pairs, and PolygonSimplifier by grid
+ * cells.
+ *
+ * A value of -1 marks an empty slot, which is why values must not be negative.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class LongIntHashMap {
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    // slots are taken from the top bits of the mixed key
+    private int shift;
+    private int size;
+
+    // constructor
+    public LongIntHashMap(int expectedSize) {
+        // keep the table at most half full
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * @return the value stored for the key, or -1 if the key is not in the map
+     */
+    public int get(long key) {
+        return values[slotOf(key)];
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) >= 0;
+    }
+
+    /**
+     * Store a value for a key that is not in the map yet
+     * @param key the key
+     * @param value the value, at least zero
+     * @return the value already stored for the key, which is left unchanged, or -1 if
+     * the key was added
+     */
+    public int putIfAbsent(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("values must not be negative: " + value);
+        }
+        int slot = slotOf(key);
+        if (values[slot] >= 0) {
+            return values[slot];
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (2 * size > keys.length) {
+            grow();
+        }
+        return -1;
+    }
+
+    /**
+     * Store a value for a key, replacing any value it had
+     * @param key the key
+     * @param value the value, at least zero
+     */
+    public void put(long key, int value) {
+        if (putIfAbsent(key, value) >= 0) {
+            values[slotOf(key)] = value;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Key a point by its exact coordinates. Equal points get equal keys, and distinct
+     * points rarely share one, so callers chain the few that do. The bits of x are
+     * rotated into the low half so that the significant high bits of x and y, all there
+     * is for small whole numbers, do not overlap
+     */
+    public static long coordinateKey(double x, double y) {
+        // +0.0 so that -0.0 keys the same as 0.0
+        return Long.rotateLeft(Double.doubleToLongBits(x + 0.0), 32) ^ Double.doubleToLongBits(y + 0.0);
+    }
+
+    /**
+     * Find the slot holding the key, or the empty slot it belongs in
+     */
+    private int slotOf(long key) {
+        // Fibonacci hashing. The top bits depend on every bit of the key, which matters
+        // for keys like double bit patterns whose low bits are mostly zero
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        while (values[slot] >= 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, -1);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Double the table and put every entry back in
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(2 * oldKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] >= 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+import java.util.*;
+import java.util.concurrent.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class finds the minimum weight triangulation of a convex polygon, the one with
+ * the smallest total diagonal length, using the O(n^3) interval dynamic program. It is
+ * an alternative to Ear Clipping, which clips whatever ear comes next.
+ *
+ * Cells of the table only depend on cells closer to its main diagonal, so the table
+ * is filled one band of tiles at a time, with the tiles of a band computed in parallel
+ * on the fork/join pool.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class MinWeightTriangulation {
+
+    // side length of the square tiles the table is computed in
+    private static final int BLOCK = 64;
+
+    /**
+     * Triangulate a convex polygon so that the total length of the diagonals is minimal
+     * @param V the vertices of the polygon in CCW order
+     * @return A list holding a list of diagonals and a list of triangles, in the same
+     *         form as EarClipping.clipEars
+     */
+    public static ArrayList<ArrayList<ArrayList<Point>>> triangulate(ArrayList<Point> V) {
+        int n = V.size();
+        ArrayList<ArrayList<Point>> diagonals = new ArrayList<ArrayList<Point>>();
+        ArrayList<ArrayList<Point>> triangles = new ArrayList<ArrayList<Point>>();
+        ArrayList<ArrayList<ArrayList<Point>>> retLists = new ArrayList<ArrayList<ArrayList<Point>>>();
+        retLists.add(diagonals);
+        retLists.add(triangles);
+        if (n < 3) {
+            return retLists;
+        }
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = V.get(i).getX();
+            ys[i] = V.get(i).getY();
+        }
+        int[] split = new int[n * n];
+        solve(xs, ys, split);
+
+        // walk the split table to recover the triangles
+        ArrayDeque<int[]> stack = new ArrayDeque<int[]>();
+        stack.push(new int[] {0, n - 1});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int i = range[0];
+            int j = range[1];
+            if (j - i < 2) {
+                continue;
+            }
+            int k = split[i * n + j];
+            ArrayList<Point> a_triangle = new ArrayList<>();
+            a_triangle.add(V.get(i));
+            a_triangle.add(V.get(k));
+            a_triangle.add(V.get(j));
+            triangles.add(a_triangle);
+            if (k - i > 1) {
+                addDiagonal(diagonals, V.get(i), V.get(k));
+            }
+            if (j - k > 1) {
+                addDiagonal(diagonals, V.get(k), V.get(j));
+            }
+            stack.push(new int[] {i, k});
+            stack.push(new int[] {k, j});
+        }
+        return retLists;
+    }
+
+    /**
+     * Fill the dynamic programming table. The weight of the sub-polygon i..j is kept at
+     * i*n + j and mirrored at j*n + i, so the two runs of weights combined for a cell,
+     * (i, k) and (k, j) for i < k < j, are both contiguous rows of the table. The length
+     * of the closing diagonal i-j is folded into the stored weight, which leaves only
+     * additions in the inner loop.
+     *
+     * The table is cut into BLOCK x BLOCK tiles. A tile only depends on tiles closer to
+     * the main diagonal, so the tiles of one block diagonal are computed in parallel,
+     * and within a tile every row segment loaded is reused for a whole tile of cells
+     * @param xs x coordinates of the polygon
+     * @param ys y coordinates of the polygon
+     * @param split receives the apex k chosen for each cell (i, j), at i*n + j
+     */
+    private static void solve(double[] xs, double[] ys, int[] split) {
+        int n = xs.length;
+        double[] weight = new double[n * n];
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int blockGap = 0; blockGap < blocks; blockGap++) {
+            TileTask band = new TileTask(xs, ys, weight, split, blockGap, 0, blocks - blockGap);
+            if (blocks - blockGap == 1) {
+                band.compute();
+            } else {
+                pool.invoke(band);
+            }
+        }
+    }
+
+    /**
+     * Computes the tiles (I, I + blockGap) for I in [from, to), splitting the range in
+     * half until a single tile is left
+     */
+    private static class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] weight;
+        private final int[] split;
+        private final int blockGap;
+        private final int from;
+        private final int to;
+
+        TileTask(double[] xs, double[] ys, double[] weight, int[] split, int blockGap, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.weight = weight;
+            this.split = split;
+            this.blockGap = blockGap;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(xs, ys, weight, split, blockGap, from, mid),
+                          new TileTask(xs, ys, weight, split, blockGap, mid, to));
+                return;
+            }
+            if (blockGap == 0) {
+                diagonalTile(from);
+            } else {
+                offDiagonalTile(from, from + blockGap);
+            }
+        }
+
+        /**
+         * A tile on the main diagonal only depends on itself, so fill it by gap
+         */
+        private void diagonalTile(int I) {
+            int n = xs.length;
+            int lo = I * BLOCK;
+            int hi = Math.min(n, lo + BLOCK);
+            for (int gap = 2; gap < hi - lo; gap++) {
+                for (int i = lo; i + gap < hi; i++) {
+                    int j = i + gap;
+                    double best = Double.MAX_VALUE;
+                    int bestK = i + 1;
+                    for (int k = i + 1; k < j; k++) {
+                        double w = weight[i*n + k] + weight[j*n + k];
+                        if (w < best) {
+                            best = w;
+                            bestK = k;
+                        }
+                    }
+                    finish(i, j, best, bestK);
+                }
+            }
+        }
+
+        /**
+         * A tile (I, J) with I < J. The apexes k in the tiles strictly between I and J
+         * only read finished tiles, so they are scanned first, one tile of k at a time.
+         * The apexes inside I and J read cells of this tile, so those are handled last,
+         * with i descending and j ascending so that every cell read is already final
+         */
+        private void offDiagonalTile(int I, int J) {
+            int n = xs.length;
+            int i0 = I * BLOCK;
+            int i1 = Math.min(n, i0 + BLOCK);
+            int j0 = J * BLOCK;
+            int j1 = Math.min(n, j0 + BLOCK);
+            double[] best = new double[BLOCK * BLOCK];
+            int[] bestK = new int[BLOCK * BLOCK];
+            Arrays.fill(best, Double.MAX_VALUE);
+
+            for (int K = I + 1; K < J; K++) {
+                int k0 = K * BLOCK;
+                int k1 = k0 + BLOCK;
+                for (int i = i0; i < i1; i++) {
+                    int rowI = i * n;
+                    for (int j = j0; j < j1; j++) {
+                        int rowJ = j * n;
+                        int cell = (i - i0) * BLOCK + (j - j0);
+                        double b = best[cell];
+                        int bk = bestK[cell];
+                        for (int k = k0; k < k1; k++) {
+                            double w = weight[rowI + k] + weight[rowJ + k];
+                            if (w < b) {
+                                b = w;
+                                bk = k;
+                            }
+                        }
+                        best[cell] = b;
+                        bestK[cell] = bk;
+                    }
+                }
+            }
+
+            for (int i = i1 - 1; i >= i0; i--) {
+                int rowI = i * n;
+                for (int j = j0; j < j1; j++) {
+                    // a polygon edge, its weight stays 0
+                    if (j - i < 2) {
+                        continue;
+                    }
+                    int rowJ = j * n;
+                    int cell = (i - i0) * BLOCK + (j - j0);
+                    double b = best[cell];
+                    int bk = bestK[cell];
+                    for (int k = i + 1; k < i1; k++) {
+                        double w = weight[rowI + k] + weight[rowJ + k];
+                        if (w < b) {
+                            b = w;
+                            bk = k;
+                        }
+                    }
+                    for (int k = j0; k < j; k++) {
+                        double w = weight[rowI + k] + weight[rowJ + k];
+                        if (w < b) {
+                            b = w;
+                            bk = k;
+                        }
+                    }
+                    finish(i, j, b, bk);
+                }
+            }
+        }
+
+        /**
+         * Store the final weight of cell (i, j), adding the length of its closing
+         * diagonal. (0, n-1) is a polygon edge, every other cell closes with a diagonal
+         */
+        private void finish(int i, int j, double best, int bestK) {
+            int n = xs.length;
+            if (!(i == 0 && j == n - 1)) {
+                double dx = xs[j] - xs[i];
+                double dy = ys[j] - ys[i];
+                best += Math.sqrt(dx*dx + dy*dy);
+            }
+            weight[i*n + j] = best;
+            weight[j*n + i] = best;
+            split[i*n + j] = bestK;
+        }
+    }
+
+    /**
+     * Add a diagonal to the list of diagonals
+     */
+    private static void addDiagonal(ArrayList<ArrayList<Point>> diagonals, Point a, Point b) {
+        ArrayList<Point> a_diagonal = new ArrayList<>();
+        a_diagonal.add(a);
+        a_diagonal.add(b);
+        diagonals.add(a_diagonal);
+    }
+}
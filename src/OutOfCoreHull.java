@@ -0,0 +1,433 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import edu.macalester.graphics.Point;
+
+/**
+ * This class finds the convex hull of a point file too large to hold in memory. The
+ * file is read in chunks, the hull of each chunk is found in parallel, and only the
+ * chunk hulls are kept. Since the hull of a set of points is the hull of the hulls of
+ * any partition of it, merging the chunk hulls gives the hull of the whole file.
+ * Memory use is bounded by the chunks in flight plus the hull points kept.
+ *
+ * The file holds one point per line as "x y" or "x,y". Blank lines and lines starting
+ * with '#' are skipped.
+ *
+ * Running the main method with --processes N splits the chunks between N child JVMs,
+ * a local stand-in for a cluster, and merges the hulls they print.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class OutOfCoreHull {
+
+    private final int chunkSize;
+    private final int workers;
+
+    // constructor
+    public OutOfCoreHull(int chunkSize, int workers) {
+        if (chunkSize < 3 || workers < 1) {
+            throw new IllegalArgumentException("need chunkSize >= 3 and workers >= 1");
+        }
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+    }
+
+    /**
+     * Find the convex hull of every point in a file
+     * @param file the point file
+     * @return the hull points in CCW order
+     * @throws IOException if the file cannot be read or a line is not a point
+     */
+    public ArrayList<Point> computeHull(Path file) throws IOException {
+        return toPoints(computeHull(file, 0, 1));
+    }
+
+    /**
+     * Find the convex hull of the chunks c of a file with c % stride == offset. This
+     * lets several processes share one file, each taking every stride-th chunk
+     * @param file the point file
+     * @param offset the first chunk to take
+     * @param stride the number of processes sharing the file
+     * @return the hull as interleaved x, y coordinates in CCW order
+     * @throws IOException if the file cannot be read or a line is not a point
+     */
+    public double[] computeHull(Path file, int offset, int stride) throws IOException {
+        if (stride < 1 || offset < 0 || offset >= stride) {
+            throw new IllegalArgumentException("need stride >= 1 and 0 <= offset < stride");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        // at most one chunk per worker plus one being read is held at a time
+        Semaphore inFlight = new Semaphore(workers + 1);
+        ArrayList<Future<double[]>> pending = new ArrayList<Future<double[]>>();
+        ArrayList<double[]> hulls = new ArrayList<double[]>();
+        long kept = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNo = 0;
+            int chunk = 0;
+            double[] xs = new double[chunkSize];
+            double[] ys = new double[chunkSize];
+            int n = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                boolean mine = (chunk % stride == offset);
+                if (mine) {
+                    parsePoint(line, lineNo, xs, ys, n);
+                }
+                n++;
+                if (n == chunkSize) {
+                    if (mine) {
+                        inFlight.acquireUninterruptibly();
+                        pending.add(submitChunk(pool, inFlight, xs, ys, n));
+                        xs = new double[chunkSize];
+                        ys = new double[chunkSize];
+
+                        // collect finished chunk hulls, and merge them once they pile up
+                        kept += collect(pending, hulls, false);
+                        if (kept > 4L * chunkSize) {
+                            double[] merged = mergeHulls(hulls);
+                            hulls.clear();
+                            hulls.add(merged);
+                            kept = merged.length / 2;
+                        }
+                    }
+                    n = 0;
+                    chunk++;
+                }
+            }
+            if (n > 0 && chunk % stride == offset) {
+                inFlight.acquireUninterruptibly();
+                pending.add(submitChunk(pool, inFlight, xs, ys, n));
+            }
+            collect(pending, hulls, true);
+        } finally {
+            pool.shutdownNow();
+        }
+        return mergeHulls(hulls);
+    }
+
+    /**
+     * Hand a chunk to the pool. The permit is released once its hull is found
+     */
+    private Future<double[]> submitChunk(ExecutorService pool, Semaphore inFlight,
+                                         double[] xs, double[] ys, int n) {
+        return pool.submit(() -> {
+            try {
+                return hull(xs, ys, n);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Move finished chunk hulls from pending to hulls
+     * @param wait whether to wait for every pending chunk
+     * @return the number of hull points moved
+     * @throws IOException if a chunk failed
+     */
+    private long collect(ArrayList<Future<double[]>> pending, ArrayList<double[]> hulls,
+                         boolean wait) throws IOException {
+        long moved = 0;
+        Iterator<Future<double[]>> it = pending.iterator();
+        while (it.hasNext()) {
+            Future<double[]> f = it.next();
+            if (!wait && !f.isDone()) {
+                continue;
+            }
+            try {
+                double[] h = f.get();
+                hulls.add(h);
+                moved += h.length / 2;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while merging chunk hulls");
+            } catch (ExecutionException e) {
+                throw new IOException("chunk hull failed", e.getCause());
+            }
+            it.remove();
+        }
+        return moved;
+    }
+
+    /**
+     * Parse "x y" or "x,y" into slot i of the coordinate arrays
+     */
+    private static void parsePoint(String line, long lineNo, double[] xs, double[] ys, int i)
+            throws IOException {
+        int sep = 0;
+        while (sep < line.length() && line.charAt(sep) != ',' && !Character.isWhitespace(line.charAt(sep))) {
+            sep++;
+        }
+        try {
+            xs[i] = Double.parseDouble(line.substring(0, sep));
+            ys[i] = Double.parseDouble(line.substring(sep + 1).replace(',', ' ').trim());
+        } catch (RuntimeException e) {
+            throw new IOException("line " + lineNo + " is not a point: " + line);
+        }
+    }
+
+    /**
+     * Merge hulls into the hull of their union. Works for hulls from any source,
+     * including other processes
+     * @param hulls hulls as interleaved x, y coordinates
+     * @return the merged hull as interleaved x, y coordinates in CCW order
+     */
+    public static double[] mergeHulls(List<double[]> hulls) {
+        int total = 0;
+        for (double[] h : hulls) {
+            total += h.length / 2;
+        }
+        double[] xs = new double[total];
+        double[] ys = new double[total];
+        int n = 0;
+        for (double[] h : hulls) {
+            for (int i = 0; i + 1 < h.length; i += 2) {
+                xs[n] = h[i];
+                ys[n] = h[i + 1];
+                n++;
+            }
+        }
+        return hull(xs, ys, n);
+    }
+
+    /**
+     * Find the convex hull of the first n points with Andrew's monotone chain, which
+     * works on primitive arrays and only needs a sort by x then y. Collinear points on
+     * the hull edges are dropped. The arrays are reordered
+     * @return the hull as interleaved x, y coordinates in CCW order
+     */
+    static double[] hull(double[] xs, double[] ys, int n) {
+        if (n == 0) {
+            return new double[0];
+        }
+        sortByXY(xs, ys, 0, n - 1);
+        return chain(xs, ys, n);
+    }
+
+    /**
+     * The monotone chain pass of hull(), for points already sorted by x then y. This
+     * takes linear time, which lets callers that can produce sorted input cheaply skip
+     * the sort
+     * @return the hull as interleaved x, y coordinates in CCW order
+     */
+    static double[] chain(double[] xs, double[] ys, int n) {
+        if (n == 0) {
+            return new double[0];
+        }
+        int[] h = new int[2 * n];
+        int k = 0;
+        // lower hull, left to right
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && cross(xs, ys, h[k - 2], h[k - 1], i) <= 0) {
+                k--;
+            }
+            h[k++] = i;
+        }
+        // upper hull, right to left
+        int lower = k + 1;
+        for (int i = n - 2; i >= 0; i--) {
+            while (k >= lower && cross(xs, ys, h[k - 2], h[k - 1], i) <= 0) {
+                k--;
+            }
+            h[k++] = i;
+        }
+        // the last point repeats the first, and a set of identical points is one point
+        int size = Math.max(1, k - 1);
+        if (size == 2 && xs[h[0]] == xs[h[1]] && ys[h[0]] == ys[h[1]]) {
+            size = 1;
+        }
+        double[] out = new double[2 * size];
+        for (int i = 0; i < size; i++) {
+            out[2*i] = xs[h[i]];
+            out[2*i + 1] = ys[h[i]];
+        }
+        return out;
+    }
+
+    private static double cross(double[] xs, double[] ys, int o, int a, int b) {
+        return (xs[a] - xs[o]) * (ys[b] - ys[o]) - (ys[a] - ys[o]) * (xs[b] - xs[o]);
+    }
+
+    /**
+     * Quick sort the points in [lo, hi] by x coordinate, using y for tiebreakers
+     */
+    private static void sortByXY(double[] xs, double[] ys, int lo, int hi) {
+        while (hi - lo > 16) {
+            // median of three pivot
+            int mid = (lo + hi) >>> 1;
+            if (less(xs, ys, mid, lo)) swap(xs, ys, mid, lo);
+            if (less(xs, ys, hi, lo)) swap(xs, ys, hi, lo);
+            if (less(xs, ys, hi, mid)) swap(xs, ys, hi, mid);
+            double px = xs[mid];
+            double py = ys[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (xs[i] < px || (xs[i] == px && ys[i] < py)) i++;
+                while (xs[j] > px || (xs[j] == px && ys[j] > py)) j--;
+                if (i <= j) {
+                    swap(xs, ys, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // recurse into the smaller side, loop on the larger
+            if (j - lo < hi - i) {
+                sortByXY(xs, ys, lo, j);
+                lo = i;
+            } else {
+                sortByXY(xs, ys, i, hi);
+                hi = j;
+            }
+        }
+        // insertion sort for short ranges
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(xs, ys, j, j - 1); j--) {
+                swap(xs, ys, j, j - 1);
+            }
+        }
+    }
+
+    private static boolean less(double[] xs, double[] ys, int a, int b) {
+        return xs[a] < xs[b] || (xs[a] == xs[b] && ys[a] < ys[b]);
+    }
+
+    private static void swap(double[] xs, double[] ys, int a, int b) {
+        double tx = xs[a];
+        xs[a] = xs[b];
+        xs[b] = tx;
+        double ty = ys[a];
+        ys[a] = ys[b];
+        ys[b] = ty;
+    }
+
+    /**
+     * Convert interleaved coordinates into a list of points
+     */
+    public static ArrayList<Point> toPoints(double[] coords) {
+        ArrayList<Point> points = new ArrayList<Point>(coords.length / 2);
+        for (int i = 0; i + 1 < coords.length; i += 2) {
+            points.add(new Point(coords[i], coords[i + 1]));
+        }
+        return points;
+    }
+
+    /**
+     * Usage:
+     *    OutOfCoreHull FILE [CHUNK_SIZE] [--processes N]
+     *    OutOfCoreHull FILE CHUNK_SIZE --worker OFFSET STRIDE
+     *
+     * Prints the hull, one "x y" point per line. With --processes the chunks are split
+     * between N child JVMs started in --worker mode, and their hulls are merged here
+     */
+    public static void main(String[] args) throws Exception {
+        // flags may come anywhere, whatever is left is FILE then CHUNK_SIZE
+        ArrayList<String> positional = new ArrayList<String>();
+        int chunkSize = 1_000_000;
+        int processes = 0;
+        int offset = -1;
+        int stride = -1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--processes") && i + 1 < args.length) {
+                    processes = Integer.parseInt(args[++i]);
+                    if (processes < 1) {
+                        throw new IllegalArgumentException("need --processes N with N >= 1");
+                    }
+                } else if (args[i].equals("--worker") && i + 2 < args.length) {
+                    offset = Integer.parseInt(args[++i]);
+                    stride = Integer.parseInt(args[++i]);
+                    if (stride < 1 || offset < 0 || offset >= stride) {
+                        throw new IllegalArgumentException("need --worker OFFSET STRIDE with stride >= 1 and 0 <= offset < stride");
+                    }
+                } else if (args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("unknown or incomplete option " + args[i]);
+                } else {
+                    positional.add(args[i]);
+                }
+            }
+            if (positional.isEmpty() || positional.size() > 2) {
+                throw new IllegalArgumentException("expected FILE and an optional CHUNK_SIZE");
+            }
+            if (positional.size() > 1) {
+                chunkSize = Integer.parseInt(positional.get(1));
+                if (chunkSize < 3) {
+                    throw new IllegalArgumentException("need CHUNK_SIZE >= 3");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: OutOfCoreHull FILE [CHUNK_SIZE] [--processes N]");
+            System.exit(2);
+            return;
+        }
+        Path file = Paths.get(positional.get(0));
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        double[] hull;
+        if (stride > 0) {
+            hull = new OutOfCoreHull(chunkSize, workers).computeHull(file, offset, stride);
+        } else if (processes > 0) {
+            hull = runProcesses(file, chunkSize, processes);
+        } else {
+            hull = new OutOfCoreHull(chunkSize, workers).computeHull(file, 0, 1);
+        }
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i + 1 < hull.length; i += 2) {
+            out.append(hull[i]).append(' ').append(hull[i + 1]).append('\n');
+        }
+        System.out.print(out);
+    }
+
+    /**
+     * Start one child JVM per share of the chunks and merge the hulls they print
+     */
+    private static double[] runProcesses(Path file, int chunkSize, int processes) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+        ArrayList<Process> children = new ArrayList<Process>();
+        for (int p = 0; p < processes; p++) {
+            ProcessBuilder pb = new ProcessBuilder(java, "-cp", classpath, "OutOfCoreHull",
+                    file.toString(), Integer.toString(chunkSize), "--worker",
+                    Integer.toString(p), Integer.toString(processes));
+            pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+            children.add(pb.start());
+        }
+        ArrayList<double[]> hulls = new ArrayList<double[]>();
+        for (Process child : children) {
+            ArrayList<String> lines = new ArrayList<String>();
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                }
+            }
+            if (child.waitFor() != 0) {
+                throw new IOException("worker exited with status " + child.exitValue());
+            }
+            double[] xs = new double[lines.size()];
+            double[] ys = new double[lines.size()];
+            for (int i = 0; i < lines.size(); i++) {
+                parsePoint(lines.get(i), i + 1, xs, ys, i);
+            }
+            double[] h = new double[2 * lines.size()];
+            for (int i = 0; i < lines.size(); i++) {
+                h[2*i] = xs[i];
+                h[2*i + 1] = ys[i];
+            }
+            hulls.add(h);
+        }
+        return mergeHulls(hulls);
+    }
+}
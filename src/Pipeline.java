@@ -0,0 +1,332 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class runs a stream of jobs through a chain of stages, with each stage on its
+ * own worker threads. Stages hand their results to the next stage through bounded
+ * queues, so when a stage falls behind the stages before it block instead of
+ * buffering without limit, all the way back to submit().
+ *
+ * Each stage counts the items it has processed and the time its workers spent busy,
+ * which together with its queue depth shows which stage is the bottleneck.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class Pipeline {
+
+    // passed down the queues to tell workers there is no more input
+    private static final Object END = new Object();
+
+    private final ArrayList<Stage> stages = new ArrayList<Stage>();
+    private long startNanos;
+    private volatile boolean started = false;
+    private volatile boolean shutdown = false;
+
+    // submit() holds the read side while it enqueues and shutdown() takes the write
+    // side to close the pipeline, so no job can be queued behind the end markers
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+
+    /**
+     * Append a stage to the pipeline. Stages run in the order they are added, and the
+     * result of each stage is the input to the next. A stage that returns null drops
+     * the item
+     * @param name the name reported in the stage statistics
+     * @param workers the number of threads running this stage
+     * @param capacity the size of the queue feeding this stage
+     * @param work the function applied to each item
+     * @return this pipeline, so stages can be chained
+     */
+    @SuppressWarnings("unchecked")
+    public <I, O> Pipeline addStage(String name, int workers, int capacity, Function<I, O> work) {
+        if (started) {
+            throw new IllegalStateException("pipeline already started");
+        }
+        if (workers < 1 || capacity < 1) {
+            throw new IllegalArgumentException("workers and capacity must be positive");
+        }
+        stages.add(new Stage(name, workers, capacity, (Function<Object, Object>) work));
+        return this;
+    }
+
+    /**
+     * Start the worker threads of every stage
+     */
+    public void start() {
+        if (started) {
+            throw new IllegalStateException("pipeline already started");
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("pipeline has no stages");
+        }
+        started = true;
+        startNanos = System.nanoTime();
+        for (int s = 0; s < stages.size(); s++) {
+            Stage stage = stages.get(s);
+            Stage next = (s + 1 < stages.size()) ? stages.get(s + 1) : null;
+            for (int w = 0; w < stage.workers; w++) {
+                Thread t = new Thread(() -> runWorker(stage, next), stage.name + "-" + w);
+                t.setDaemon(true);
+                stage.threads.add(t);
+                t.start();
+            }
+        }
+    }
+
+    /**
+     * Submit a job to the first stage, blocking while its queue is full
+     * @param job the input to the first stage
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    public void submit(Object job) throws InterruptedException {
+        gate.readLock().lockInterruptibly();
+        try {
+            if (!started || shutdown) {
+                throw new IllegalStateException("pipeline is not accepting jobs");
+            }
+            stages.get(0).queue.put(job);
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stop accepting jobs, let every job already submitted finish, and wait for all
+     * of the workers to exit
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException {
+        // waits for submits already putting their job, the workers keep draining the
+        // queue so they can finish
+        gate.writeLock().lockInterruptibly();
+        try {
+            if (!started || shutdown) {
+                return;
+            }
+            shutdown = true;
+        } finally {
+            gate.writeLock().unlock();
+        }
+        Stage first = stages.get(0);
+        for (int w = 0; w < first.workers; w++) {
+            first.queue.put(END);
+        }
+        for (Stage stage : stages) {
+            for (Thread t : stage.threads) {
+                t.join();
+            }
+        }
+    }
+
+    /**
+     * The loop run by each worker of a stage. The last worker of a stage to exit
+     * passes one end marker on to each worker of the next stage, however it exits
+     */
+    private void runWorker(Stage stage, Stage next) {
+        try {
+            while (true) {
+                Object item = stage.queue.take();
+                if (item == END) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                Object result = null;
+                try {
+                    result = stage.work.apply(item);
+                    stage.processed.increment();
+                } catch (Throwable e) {
+                    // errors too, a StackOverflowError from one job should not take
+                    // the worker down with it
+                    stage.failed.increment();
+                    stage.lastError = e;
+                }
+                stage.busyNanos.add(System.nanoTime() - begin);
+                // blocks while the next stage is full, which is the backpressure
+                if (result != null && next != null) {
+                    next.queue.put(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (stage.running.decrementAndGet() == 0 && next != null) {
+                passEnd(next);
+            }
+        }
+    }
+
+    /**
+     * Put one end marker in front of each worker of a stage, even if this thread has
+     * been interrupted, since the stage's workers wait for them to exit
+     */
+    private static void passEnd(Stage stage) {
+        boolean interrupted = false;
+        for (int w = 0; w < stage.workers; w++) {
+            while (true) {
+                try {
+                    stage.queue.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take a snapshot of the statistics of every stage
+     * @return one entry per stage, in pipeline order
+     */
+    public ArrayList<StageStats> getStats() {
+        double elapsed = started ? (System.nanoTime() - startNanos) / 1e9 : 0;
+        ArrayList<StageStats> stats = new ArrayList<StageStats>();
+        for (Stage stage : stages) {
+            stats.add(new StageStats(stage, elapsed));
+        }
+        return stats;
+    }
+
+    /**
+     * Build the triangulator as a pipeline: generate random points, find their convex
+     * hull, sort the hull CCW, clip ears and hand the result to the output. Each job
+     * submitted is the Long seed of the points to generate
+     * @param dist the distribution the points are drawn from
+     * @param pointsPerJob the number of points generated for each job
+     * @param workers the number of threads for each of the middle stages
+     * @param capacity the size of each queue
+     * @param output receives the diagonals and triangles of each job
+     * @return a pipeline ready to be started
+     */
+    public static Pipeline triangulator(WorkloadGenerator.Distribution dist, int pointsPerJob,
+                                        int workers, int capacity,
+                                        Consumer<ArrayList<ArrayList<ArrayList<Point>>>> output) {
+        Pipeline pipeline = new Pipeline();
+        pipeline.addStage("generate", workers, capacity, (Long seed) ->
+                new WorkloadGenerator(seed, 0, 0, 1000, 800).generatePoints(dist, pointsPerJob));
+        pipeline.addStage("hull", workers, capacity, (ArrayList<Point> points) ->
+                new QuickHull(points).runQuickHull());
+        pipeline.addStage("order", workers, capacity, (ArrayList<Point> hull) ->
+                QuickHull.sortCCW(hull));
+        pipeline.addStage("triangulate", workers, capacity, (ArrayList<Point> hull) ->
+                (hull.size() < 3) ? null : EarClipping.clipEars(hull));
+        pipeline.addStage("output", 1, capacity, (ArrayList<ArrayList<ArrayList<Point>>> result) -> {
+            output.accept(result);
+            return null;
+        });
+        return pipeline;
+    }
+
+    /**
+     * A stage of the pipeline: its queue, its workers and its counters
+     */
+    private static class Stage {
+        final String name;
+        final int workers;
+        final ArrayBlockingQueue<Object> queue;
+        final Function<Object, Object> work;
+        final ArrayList<Thread> threads = new ArrayList<Thread>();
+        final AtomicInteger running;
+        final LongAdder processed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder busyNanos = new LongAdder();
+        volatile Throwable lastError;
+
+        Stage(String name, int workers, int capacity, Function<Object, Object> work) {
+            this.name = name;
+            this.workers = workers;
+            this.queue = new ArrayBlockingQueue<Object>(capacity);
+            this.work = work;
+            this.running = new AtomicInteger(workers);
+        }
+    }
+
+    /**
+     * A snapshot of the statistics of one stage
+     */
+    public static class StageStats {
+        private final String name;
+        private final int workers;
+        private final int queueDepth;
+        private final int queueCapacity;
+        private final long processed;
+        private final long failed;
+        private final double throughput;
+        private final double utilization;
+        private final Throwable lastError;
+
+        private StageStats(Stage stage, double elapsedSeconds) {
+            this.name = stage.name;
+            this.workers = stage.workers;
+            this.queueDepth = stage.queue.size();
+            this.queueCapacity = stage.queue.size() + stage.queue.remainingCapacity();
+            this.processed = stage.processed.sum();
+            this.failed = stage.failed.sum();
+            this.throughput = (elapsedSeconds > 0) ? processed / elapsedSeconds : 0;
+            double busy = stage.busyNanos.sum() / 1e9;
+            this.utilization = (elapsedSeconds > 0) ? busy / (elapsedSeconds * workers) : 0;
+            this.lastError = stage.lastError;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * @return the number of items waiting in front of this stage
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return items processed per second since the pipeline started
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * @return the fraction of time this stage's workers spent working, a stage
+         *         near 1.0 with a full queue is the bottleneck
+         */
+        public double getUtilization() {
+            return utilization;
+        }
+
+        /**
+         * @return the most recent exception or error thrown by this stage, or null
+         */
+        public Throwable getLastError() {
+            return lastError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s workers=%d queue=%d/%d processed=%d failed=%d %.1f/s busy=%.0f%%",
+                                 name, workers, queueDepth, queueCapacity, processed, failed,
+                                 throughput, 100 * utilization);
+        }
+    }
+}
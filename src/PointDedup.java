@@ -0,0 +1,147 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class cleans up points before and after the hull stage. Drawer floors every
+ * generated coordinate, so repeated points are common, and they only make QuickHull
+ * do extra work and Ear Clipping produce zero area triangles.
+ *
+ * Duplicates are found in one pass with a LongIntHashMap keyed by a hash of the
+ * coordinates' bits, the way HalfEdgeMesh finds shared corners, so nothing is boxed
+ * and points off the integer grid, such as WorkloadGenerator's, are deduplicated too.
+ * Points are repeats only if their coordinates are exactly equal.
+ *
+ * Collinear vertices can also be stripped from a hull, using the exact orientation
+ * test when the coordinates are integers. QuickHull never keeps a point on a hull edge,
+ * so this is for hulls and convex polygons from elsewhere, such as a hull read from a
+ * file or the output of ConvexPolygons.intersect.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class PointDedup {
+
+    private final boolean stripCollinear;
+    private int duplicatesRemoved;
+    private int collinearRemoved;
+
+    // constructor
+    public PointDedup(boolean stripCollinear) {
+        this.stripCollinear = stripCollinear;
+    }
+
+    /**
+     * Remove repeated points, keeping the first of each
+     * @param points the points to clean, not modified
+     * @return the distinct points, in their original order
+     */
+    public ArrayList<Point> removeDuplicates(ArrayList<Point> points) {
+        int size = points.size();
+        LongIntHashMap byHash = new LongIntHashMap(size);
+        // the distinct points sharing a hash are chained through sameHash, in case two
+        // different points ever collide
+        int[] sameHash = new int[size];
+        ArrayList<Point> distinct = new ArrayList<Point>(size);
+        for (Point p : points) {
+            long h = LongIntHashMap.coordinateKey(p.getX(), p.getY());
+            int first = byHash.get(h);
+            int d = first;
+            while (d >= 0 && !samePoint(distinct.get(d), p)) {
+                d = sameHash[d];
+            }
+            if (d >= 0) {
+                duplicatesRemoved++;
+                continue;
+            }
+            sameHash[distinct.size()] = first;
+            byHash.put(h, distinct.size());
+            distinct.add(p);
+        }
+        return distinct;
+    }
+
+    /**
+     * Remove the repeated and collinear vertices of a convex hull, if this dedup was
+     * made to strip them
+     * @param hull the hull vertices in CCW or CW order, not modified
+     * @return the hull with only its corners left, in the same order
+     */
+    public ArrayList<Point> removeCollinear(ArrayList<Point> hull) {
+        if (!stripCollinear) {
+            return new ArrayList<Point>(hull);
+        }
+        // drop each vertex that lines up with the one before it and the new one
+        ArrayList<Point> corners = new ArrayList<Point>(hull.size());
+        for (Point p : hull) {
+            int k = corners.size();
+            if (k > 0 && samePoint(corners.get(k - 1), p)) {
+                continue;
+            }
+            while (k >= 2 && isCollinear(corners.get(k - 2), corners.get(k - 1), p)) {
+                corners.remove(--k);
+            }
+            corners.add(p);
+        }
+        // the same test across the seam between the last vertex and the first
+        while (corners.size() >= 3) {
+            int k = corners.size();
+            if (samePoint(corners.get(k - 1), corners.get(0))
+                    || isCollinear(corners.get(k - 2), corners.get(k - 1), corners.get(0))) {
+                corners.remove(k - 1);
+            } else if (isCollinear(corners.get(k - 1), corners.get(0), corners.get(1))) {
+                corners.remove(0);
+            } else {
+                break;
+            }
+        }
+        collinearRemoved += hull.size() - corners.size();
+        return corners;
+    }
+
+    /**
+     * @return true if a, b and c lie on one line
+     */
+    private static boolean isCollinear(Point a, Point b, Point c) {
+        if (isIntegral(a) && isIntegral(b) && isIntegral(c)) {
+            return IntegerGeometry.orient(pack(a), pack(b), pack(c)) == 0;
+        }
+        double cross = (b.getX() - a.getX()) * (c.getY() - a.getY())
+                - (b.getY() - a.getY()) * (c.getX() - a.getX());
+        return cross == 0;
+    }
+
+    private static boolean samePoint(Point a, Point b) {
+        return a.getX() == b.getX() && a.getY() == b.getY();
+    }
+
+    /**
+     * @return true if both coordinates are integers that fit in an int
+     */
+    private static boolean isIntegral(Point p) {
+        return (int) p.getX() == p.getX() && (int) p.getY() == p.getY();
+    }
+
+    private static long pack(Point p) {
+        return IntegerGeometry.pack((int) p.getX(), (int) p.getY());
+    }
+
+    /**
+     * @return the number of repeated points removed by removeDuplicates
+     */
+    public int getDuplicatesRemoved() {
+        return duplicatesRemoved;
+    }
+
+    /**
+     * @return the number of hull vertices removed by removeCollinear
+     */
+    public int getCollinearRemoved() {
+        return collinearRemoved;
+    }
+
+    /**
+     * @return the total number of points removed
+     */
+    public int getRemovedCount() {
+        return duplicatesRemoved + collinearRemoved;
+    }
+}
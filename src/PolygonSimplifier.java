@@ -0,0 +1,457 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class removes vertices from a polygon before it is triangulated, since every
+ * vertex kept costs a triangle. Two ways of ranking the vertices are offered:
+ *
+ *    Visvalingam-Whyatt - a vertex is worth the area of the triangle it makes with its
+ *                         neighbors, updated as neighbors are removed
+ *    Douglas-Peucker    - a vertex is worth its distance from the segment that would
+ *                         replace it in the Douglas-Peucker recursion
+ *
+ * Either way, vertices are taken off a heap cheapest first until the next one is over
+ * the tolerance or the target vertex count is reached. A vertex is only removed if no
+ * other vertex lies in the triangle it makes with its neighbors. In a simple polygon
+ * any edge crossing the new shortcut would have to end inside that triangle, so this
+ * keeps the polygon simple. A sparse grid of cells about an edge long keeps the check
+ * cheap, and it is rebuilt coarser each time half of the vertices are gone.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class PolygonSimplifier {
+
+    private final ArrayList<Point> polygon;
+    private final double[] xs;
+    private final double[] ys;
+    private final int n;
+
+    // ring of vertices still in the polygon
+    private int[] prev;
+    private int[] next;
+    private boolean[] alive;
+    private int count;
+    private int removed;
+
+    // sparse grid over the vertices, cellIds maps cell coordinates to cell id, and
+    // the vertices in cell c are cellVerts[cellStart[c]] ... cellVerts[cellStart[c+1]-1]
+    private double cellSize;
+    private LongIntHashMap cellIds;
+    private int[] cellStart;
+    private int[] cellVerts;
+    private int gridBuiltAt;
+
+    // constructor
+    public PolygonSimplifier(ArrayList<Point> polygon) {
+        this.polygon = polygon;
+        this.n = polygon.size();
+        this.xs = new double[n];
+        this.ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = polygon.get(i).getX();
+            ys[i] = polygon.get(i).getY();
+        }
+    }
+
+    /**
+     * Simplify with Visvalingam-Whyatt
+     * @param minArea remove vertices whose triangle is at most this area
+     * @param targetCount stop once this many vertices are left, 0 to ignore
+     * @return the remaining vertices, in their original order
+     */
+    public ArrayList<Point> visvalingam(double minArea, int targetCount) {
+        resetRing();
+        VertexHeap heap = new VertexHeap(n);
+        for (int i = 0; i < n; i++) {
+            heap.add(i, triangleArea(prev[i], i, next[i]));
+        }
+        while (!heap.isEmpty() && count > Math.max(3, targetCount)) {
+            double area = heap.minKey();
+            if (area > minArea) {
+                break;
+            }
+            int v = heap.poll();
+            if (!canRemove(v)) {
+                // stays for now, it gets another chance when a neighbor goes
+                continue;
+            }
+            int p = prev[v];
+            int q = next[v];
+            remove(v);
+            // a neighbor never becomes cheaper than the vertex just removed, which
+            // keeps the removal order monotone
+            updateNeighbor(heap, p, area);
+            updateNeighbor(heap, q, area);
+        }
+        return survivors();
+    }
+
+    /**
+     * Simplify with Douglas-Peucker
+     * @param tolerance remove vertices within this distance of their replacement
+     *                  segment
+     * @param targetCount stop once this many vertices are left, 0 to ignore
+     * @return the remaining vertices, in their original order
+     */
+    public ArrayList<Point> douglasPeucker(double tolerance, int targetCount) {
+        resetRing();
+        double[] importance = douglasPeuckerImportance();
+        VertexHeap heap = new VertexHeap(n);
+        for (int i = 0; i < n; i++) {
+            heap.add(i, importance[i]);
+        }
+        while (!heap.isEmpty() && count > Math.max(3, targetCount)) {
+            if (heap.minKey() > tolerance) {
+                break;
+            }
+            int v = heap.poll();
+            if (canRemove(v)) {
+                remove(v);
+            }
+        }
+        return survivors();
+    }
+
+    /**
+     * @return the number of vertices removed by the last simplification
+     */
+    public int getRemovedCount() {
+        return removed;
+    }
+
+    /**
+     * Rank each vertex by the Douglas-Peucker recursion on the closed ring, which is
+     * split at vertex 0 and the vertex farthest from it. A vertex's rank is capped by
+     * the rank of the vertex that split its chain, so removing vertices cheapest first
+     * takes every vertex out after its whole sub-chain, with the same neighbors the
+     * recursion would have joined
+     */
+    private double[] douglasPeuckerImportance() {
+        double[] importance = new double[n];
+        if (n == 0) {
+            return importance;
+        }
+        int far = 0;
+        double farDist = -1;
+        for (int i = 1; i < n; i++) {
+            double dx = xs[i] - xs[0];
+            double dy = ys[i] - ys[0];
+            if (dx * dx + dy * dy > farDist) {
+                farDist = dx * dx + dy * dy;
+                far = i;
+            }
+        }
+        importance[0] = Double.MAX_VALUE;
+        importance[far] = Double.MAX_VALUE;
+
+        // each entry is a chain (start, end, cap), walking forward from start to end
+        ArrayDeque<double[]> stack = new ArrayDeque<double[]>();
+        stack.push(new double[] {0, far, Double.MAX_VALUE});
+        stack.push(new double[] {far, n, Double.MAX_VALUE});
+        while (!stack.isEmpty()) {
+            double[] chain = stack.pop();
+            int a = (int) chain[0];
+            int b = (int) chain[1];
+            double cap = chain[2];
+            if (b - a < 2) {
+                continue;
+            }
+            int best = -1;
+            double bestDist = -1;
+            for (int k = a + 1; k < b; k++) {
+                double d = segmentDistance(k, a, b % n);
+                if (d > bestDist) {
+                    bestDist = d;
+                    best = k;
+                }
+            }
+            double rank = Math.min(bestDist, cap);
+            importance[best] = rank;
+            stack.push(new double[] {a, best, rank});
+            stack.push(new double[] {best, b, rank});
+        }
+        return importance;
+    }
+
+    /**
+     * Recompute a neighbor's Visvalingam-Whyatt area after a removal, putting it back
+     * on the heap if it had been held back
+     */
+    private void updateNeighbor(VertexHeap heap, int v, double floor) {
+        double area = Math.max(floor, triangleArea(prev[v], v, next[v]));
+        if (heap.contains(v)) {
+            heap.update(v, area);
+        } else {
+            heap.add(v, area);
+        }
+    }
+
+    /**
+     * Check if removing v keeps the polygon simple: no other vertex still in the
+     * polygon may lie in or on the triangle v makes with its neighbors
+     */
+    private boolean canRemove(int v) {
+        if (count <= 3) {
+            return false;
+        }
+        int p = prev[v];
+        int q = next[v];
+        long c0 = cellOf(Math.min(xs[p], Math.min(xs[v], xs[q])));
+        long c1 = cellOf(Math.max(xs[p], Math.max(xs[v], xs[q])));
+        long r0 = cellOf(Math.min(ys[p], Math.min(ys[v], ys[q])));
+        long r1 = cellOf(Math.max(ys[p], Math.max(ys[v], ys[q])));
+
+        // a triangle covering more cells than there are vertices is cheaper to check
+        // against every vertex in the ring
+        if ((c1 - c0 + 1) * (r1 - r0 + 1) > count) {
+            for (int w = next[q]; w != p; w = next[w]) {
+                if (inTriangle(xs[w], ys[w], p, v, q)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (long r = r0; r <= r1; r++) {
+            for (long c = c0; c <= c1; c++) {
+                int cell = cellIds.get(cellKey(c, r));
+                if (cell < 0) {
+                    continue;
+                }
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int w = cellVerts[i];
+                    if (!alive[w] || w == p || w == v || w == q) {
+                        continue;
+                    }
+                    if (inTriangle(xs[w], ys[w], p, v, q)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bucket the vertices still in the polygon into grid cells a couple of edge
+     * lengths wide. Vertices lie along the boundary rather than across the whole
+     * bounding box, so only the occupied cells are stored, in a hash table keyed by
+     * cell coordinates
+     */
+    private void buildGrid() {
+        double perimeter = 0;
+        for (int i = 0; i < n; i++) {
+            if (alive[i]) {
+                double dx = xs[next[i]] - xs[i];
+                double dy = ys[next[i]] - ys[i];
+                perimeter += Math.sqrt(dx * dx + dy * dy);
+            }
+        }
+        cellSize = Math.max(2 * perimeter / Math.max(1, count), 1e-9);
+
+        cellIds = new LongIntHashMap(count);
+        int[] vertexCell = new int[n];
+        int[] counts = new int[count + 1];
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            long key = cellKey(cellOf(xs[i]), cellOf(ys[i]));
+            int cell = cellIds.putIfAbsent(key, cells);
+            if (cell < 0) {
+                cell = cells++;
+            }
+            vertexCell[i] = cell;
+            counts[vertexCell[i]]++;
+        }
+        cellStart = new int[cells + 1];
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] = cellStart[c] + counts[c];
+        }
+        cellVerts = new int[count];
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int i = 0; i < n; i++) {
+            if (alive[i]) {
+                cellVerts[fill[vertexCell[i]]++] = i;
+            }
+        }
+        gridBuiltAt = count;
+    }
+
+    private long cellOf(double coord) {
+        return (long) Math.floor(coord / cellSize);
+    }
+
+    private static long cellKey(long col, long row) {
+        return (col << 32) ^ (row & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Put every vertex back in the ring
+     */
+    private void resetRing() {
+        prev = new int[n];
+        next = new int[n];
+        alive = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            prev[i] = (i + n - 1) % n;
+            next[i] = (i + 1) % n;
+            alive[i] = true;
+        }
+        count = n;
+        removed = 0;
+        buildGrid();
+    }
+
+    private void remove(int v) {
+        next[prev[v]] = next[v];
+        prev[next[v]] = prev[v];
+        alive[v] = false;
+        count--;
+        removed++;
+        if (count < gridBuiltAt / 2 && count > 64) {
+            buildGrid();
+        }
+    }
+
+    private ArrayList<Point> survivors() {
+        ArrayList<Point> out = new ArrayList<Point>(count);
+        for (int i = 0; i < n; i++) {
+            if (alive[i]) {
+                out.add(polygon.get(i));
+            }
+        }
+        return out;
+    }
+
+    private double triangleArea(int a, int b, int c) {
+        return Math.abs(orient(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c])) / 2;
+    }
+
+    /**
+     * Distance from vertex k to the segment from vertex a to vertex b
+     */
+    private double segmentDistance(int k, int a, int b) {
+        double ex = xs[b] - xs[a];
+        double ey = ys[b] - ys[a];
+        double wx = xs[k] - xs[a];
+        double wy = ys[k] - ys[a];
+        double lenSq = ex * ex + ey * ey;
+        double t = (lenSq == 0) ? 0 : Math.max(0, Math.min(1, (wx * ex + wy * ey) / lenSq));
+        double dx = wx - t * ex;
+        double dy = wy - t * ey;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Check if a point is in or on the triangle a, b, c, for either winding
+     */
+    private boolean inTriangle(double x, double y, int a, int b, int c) {
+        double d1 = orient(xs[a], ys[a], xs[b], ys[b], x, y);
+        double d2 = orient(xs[b], ys[b], xs[c], ys[c], x, y);
+        double d3 = orient(xs[c], ys[c], xs[a], ys[a], x, y);
+        boolean hasNeg = d1 < 0 || d2 < 0 || d3 < 0;
+        boolean hasPos = d1 > 0 || d2 > 0 || d3 > 0;
+        return !(hasNeg && hasPos);
+    }
+
+    private static double orient(double ox, double oy, double ax, double ay, double bx, double by) {
+        return (ax - ox) * (by - oy) - (ay - oy) * (bx - ox);
+    }
+
+    /**
+     * A binary min heap of vertex ids keyed by importance. Each vertex's position in the
+     * heap is tracked so its key can be changed in O(log n)
+     */
+    private static class VertexHeap {
+        private final int[] heap;
+        private final int[] pos;
+        private final double[] key;
+        private int size;
+
+        VertexHeap(int capacity) {
+            heap = new int[capacity];
+            pos = new int[capacity];
+            key = new double[capacity];
+            Arrays.fill(pos, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean contains(int v) {
+            return pos[v] >= 0;
+        }
+
+        double minKey() {
+            return key[heap[0]];
+        }
+
+        void add(int v, double k) {
+            key[v] = k;
+            heap[size] = v;
+            pos[v] = size;
+            size++;
+            siftUp(size - 1);
+        }
+
+        int poll() {
+            int v = heap[0];
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                pos[heap[0]] = 0;
+                siftDown(0);
+            }
+            pos[v] = -1;
+            return v;
+        }
+
+        void update(int v, double k) {
+            double old = key[v];
+            key[v] = k;
+            if (k < old) {
+                siftUp(pos[v]);
+            } else {
+                siftDown(pos[v]);
+            }
+        }
+
+        private void siftUp(int i) {
+            int v = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (key[heap[parent]] <= key[v]) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                pos[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+
+        private void siftDown(int i) {
+            int v = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) {
+                    child++;
+                }
+                if (key[v] <= key[heap[child]]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                pos[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+    }
+}
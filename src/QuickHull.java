@@ -13,6 +13,12 @@ public class QuickHull {
     // an array of points to hold the randomly generated points
     Point[] pointArr; 
 
+    // deepest findHull recursion reached by the current branch, for the JFR events 
+    private int maxDepth; 
+
+    // lets the caller stop the current run and watch its progress 
+    private CancellationToken token; 
+
     // constructor 
     public QuickHull(ArrayList<Point> randomPoints) { 
         this.pointArr = new Point[randomPoints.size()]; 
@@ -24,9 +30,34 @@ public class QuickHull {
      * @param a set of points to find the hull 
      */
     public ArrayList<Point> runQuickHull() { 
+        return runQuickHull(new CancellationToken()); 
+    }
+
+    /**
+     * Run Quick Hull until it finishes or the token is cancelled. A run cancelled while 
+     * sorting returns the hull of the points sorted so far, in CCW order. A run 
+     * cancelled while recursing returns the hull vertices it has already confirmed, in 
+     * the same order a full run would, which form a convex polygon inside the true hull 
+     * @param token checked as the sort and the recursion go, and given the progress 
+     * @return the convex hull, or the part of it found before cancellation 
+     */
+    public ArrayList<Point> runQuickHull(CancellationToken token) { 
+        TriangulatorEvents.RunQuickHull event = new TriangulatorEvents.RunQuickHull(); 
+        event.begin(); 
+        this.token = token; 
 
         // initialize sets for quick hull 
-        sortPoints(); 
+        int sorted = sortPoints(); 
+        if (token.isCancelled()) { 
+            ArrayList<Point> prefixHull = hullOfPrefix(sorted); 
+            event.end(); 
+            if (event.shouldCommit()) { 
+                event.inputSize = pointArr.length; 
+                event.hullSize = prefixHull.size(); 
+                event.commit(); 
+            }
+            return prefixHull; 
+        }
         ArrayList<Point> ConvexHull = new ArrayList<Point>(); 
         Point A = pointArr[0]; 
         Point B = pointArr[pointArr.length - 1]; 
@@ -45,29 +76,100 @@ public class QuickHull {
                 }
             }
         }
+        // A, B and any points on the AB line are done with 
+        token.addPointsProcessed(pointArr.length - setL.size() - setR.size()); 
 
         // recursively find the left and right hull, return their union 
-        ArrayList<Point> LeftHull = findHull(setL, A, B); 
-        ArrayList<Point> RightHull = findHull(setR, B, A); 
+        ArrayList<Point> LeftHull = findTopHull("left", setL, A, B); 
+        int leftDepth = maxDepth; 
+        ArrayList<Point> RightHull = findTopHull("right", setR, B, A); 
         ConvexHull.add(A); 
         ConvexHull = union(ConvexHull, LeftHull); 
         ConvexHull = union(ConvexHull, RightHull); 
         ConvexHull.add(B); 
+
+        event.end(); 
+        if (event.shouldCommit()) { 
+            event.inputSize = pointArr.length; 
+            event.hullSize = ConvexHull.size(); 
+            event.recursionDepth = Math.max(leftDepth, maxDepth); 
+            event.commit(); 
+        }
         return ConvexHull;
     }
 
+    /**
+     * Run one of the two top level findHull branches inside a JFR event 
+     * @param side which side of the AB line this branch covers 
+     * @param S the set of points on that side 
+     * @param P left endpoint of the line 
+     * @param Q right endpoint of the line
+     * @return the convex hull on that side of the line 
+     */
+    private ArrayList<Point> findTopHull(String side, ArrayList<Point> S, Point P, Point Q) { 
+        TriangulatorEvents.FindHull event = new TriangulatorEvents.FindHull(); 
+        event.begin(); 
+        int inputSize = S.size(); 
+        maxDepth = 0; 
+        ArrayList<Point> hull = findHull(S, P, Q, 1); 
+        event.end(); 
+        if (event.shouldCommit()) { 
+            event.side = side; 
+            event.inputSize = inputSize; 
+            event.hullSize = hull.size(); 
+            event.recursionDepth = maxDepth; 
+            event.commit(); 
+        }
+        return hull; 
+    }
+
+    /**
+     * Sort the points of a convex hull in CCW order, the same order the Drawer draws 
+     * the polygon in. Each point is measured by its angle about the center of the hull 
+     * using Math.atan2, and the points are sorted by that angle 
+     * @param hull the points of a convex hull, in any order 
+     * @return a new list holding the hull points sorted CCW 
+     */
+    public static ArrayList<Point> sortCCW(ArrayList<Point> hull) { 
+        TriangulatorEvents.SortCCW event = new TriangulatorEvents.SortCCW(); 
+        event.begin(); 
+        // find the center of the hull 
+        double xSum = 0; 
+        double ySum = 0; 
+        for (Point p : hull) { 
+            xSum += p.getX(); 
+            ySum += p.getY(); 
+        }
+        double cx = xSum / hull.size(); 
+        double cy = ySum / hull.size(); 
+        // sort by polar angle about the center 
+        ArrayList<Point> sorted = new ArrayList<Point>(hull); 
+        sorted.sort(Comparator.comparingDouble(p -> Math.atan2(p.getY() - cy, p.getX() - cx))); 
+        event.end(); 
+        if (event.shouldCommit()) { 
+            event.hullSize = sorted.size(); 
+            event.commit(); 
+        }
+        return sorted; 
+    }
+
     /**
      * A recurise method to find the convex hull of a set of points that is to the 
      * left or right of the AB line 
      * @param S the set of sorted points 
      * @param P left endpoint of the line 
      * @param Q right endpoint of the line
+     * @param depth how deep in the recursion this call is 
      * @return the convex hull on that side of the line 
      */
-    private ArrayList<Point> findHull(ArrayList<Point> S, Point P, Point Q) { 
+    private ArrayList<Point> findHull(ArrayList<Point> S, Point P, Point Q, int depth) { 
+        maxDepth = Math.max(maxDepth, depth); 
         // if the set to consider is empty just return it 
         if (S.isEmpty()) { 
             return S; 
+        } else if (token.isCancelled()) { 
+            // none of S is confirmed to be on the hull 
+            return new ArrayList<Point>(); 
         } else { 
             // get the point furthest from the PQ line and remove from S
             Point C = getFurthest(S, P, Q); 
@@ -83,9 +185,11 @@ public class QuickHull {
                     S2.add(p);
                 }
             }
+            // C and the points inside triangle PCQ are done with 
+            token.addPointsProcessed(S.size() + 1 - S1.size() - S2.size()); 
             // recurr and return 
-            ArrayList<Point> H1 = findHull(S1, P, C); 
-            ArrayList<Point> H2 = findHull(S2, C, Q);
+            ArrayList<Point> H1 = findHull(S1, P, C, depth + 1); 
+            ArrayList<Point> H2 = findHull(S2, C, Q, depth + 1);
             H2.add(C); 
             return (union(H1, H2)); 
         }
@@ -161,11 +265,22 @@ public class QuickHull {
      * 
      * @Note: this implementation of quick sort is for cartesian points, and is different 
      * than the selection sort for sorting polar coordinates in drawer class
+     * 
+     * @return the number of points put in place, less than all of them if the token 
+     * was cancelled 
      */
-    private void sortPoints() { 
+    private int sortPoints() { 
+        TriangulatorEvents.SortPoints event = new TriangulatorEvents.SortPoints(); 
+        event.begin(); 
         int n = pointArr.length; 
+        int sorted = n; 
         // for each point in the array 
         for (int i = 0; i < n; i++) { 
+            if (token.isCancelled()) { 
+                // still commit the event, cancelled sorts are the slow ones 
+                sorted = i; 
+                break; 
+            }
             int minPos = i;
             // for each point after i in the array 
             for (int j = i+1; j < n; j++) { 
@@ -183,7 +298,39 @@ public class QuickHull {
                 }
             }
             swap(i, minPos); 
+            token.addPointsSorted(1); 
+        }
+        event.end(); 
+        if (event.shouldCommit()) { 
+            event.inputSize = n; 
+            event.commit(); 
+        }
+        return sorted; 
+    }
+
+    /**
+     * Find the hull of the points a cancelled sort has already put in place. Those are 
+     * in x order, so after an insertion pass to order equal x values by y, one monotone 
+     * chain pass finds their hull 
+     * @param count the length of the sorted prefix of pointArr 
+     * @return the hull of the prefix in CCW order 
+     */
+    private ArrayList<Point> hullOfPrefix(int count) { 
+        double[] xs = new double[count]; 
+        double[] ys = new double[count]; 
+        for (int i = 0; i < count; i++) { 
+            double x = pointArr[i].getX(); 
+            double y = pointArr[i].getY(); 
+            int j = i; 
+            while (j > 0 && xs[j-1] == x && ys[j-1] > y) { 
+                xs[j] = xs[j-1]; 
+                ys[j] = ys[j-1]; 
+                j--; 
+            }
+            xs[j] = x; 
+            ys[j] = y; 
         }
+        return OutOfCoreHull.toPoints(OutOfCoreHull.chain(xs, ys, count)); 
     }
 
     /**
@@ -0,0 +1,249 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * This class answers "which triangle contains (x, y)?" queries over the triangles
+ * produced by Ear Clipping. Each triangle is bucketed into the cells of a uniform
+ * grid that it overlaps, so a query only tests the few triangles in its cell. This
+ * works best on well shaped triangles: a long sliver lands in every cell along its
+ * length, so a fan of slivers such as a triangulated hull of n points costs about
+ * n^1.5 cell entries rather than n.
+ *
+ * Everything is stored in flat primitive arrays and never changes after construction,
+ * so a single locator can be shared by any number of threads and queries allocate
+ * nothing.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class TriangleLocator {
+
+    // the three corners of triangle t are at 3t, 3t+1 and 3t+2
+    private final double[] triX;
+    private final double[] triY;
+    private final int numTriangles;
+
+    // grid covering the bounding box of all triangles
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int cols;
+    private final int rows;
+
+    // the triangle ids in cell c are cellTris[cellStart[c]] ... cellTris[cellStart[c+1]-1]
+    private final int[] cellStart;
+    private final int[] cellTris;
+
+    // constructor
+    public TriangleLocator(ArrayList<ArrayList<Point>> triangles) {
+        numTriangles = triangles.size();
+        triX = new double[3 * numTriangles];
+        triY = new double[3 * numTriangles];
+
+        // copy the corners and find the bounds of the triangulation
+        double loX = Double.MAX_VALUE;
+        double loY = Double.MAX_VALUE;
+        double hiX = -Double.MAX_VALUE;
+        double hiY = -Double.MAX_VALUE;
+        for (int t = 0; t < numTriangles; t++) {
+            ArrayList<Point> tri = triangles.get(t);
+            for (int k = 0; k < 3; k++) {
+                Point p = tri.get(k);
+                triX[3*t + k] = p.getX();
+                triY[3*t + k] = p.getY();
+                loX = Math.min(loX, p.getX());
+                loY = Math.min(loY, p.getY());
+                hiX = Math.max(hiX, p.getX());
+                hiY = Math.max(hiY, p.getY());
+            }
+        }
+        if (numTriangles == 0) {
+            loX = loY = hiX = hiY = 0;
+        }
+
+        // aim for roughly one triangle per cell, keeping cells close to square
+        double spanX = Math.max(hiX - loX, 1e-9);
+        double spanY = Math.max(hiY - loY, 1e-9);
+        double cells = Math.max(1, numTriangles);
+        int c = (int) Math.ceil(Math.sqrt(cells * spanX / spanY));
+        int r = (int) Math.ceil(cells / c);
+        this.cols = Math.max(1, Math.min(c, 4096));
+        this.rows = Math.max(1, Math.min(r, 4096));
+        this.minX = loX;
+        this.minY = loY;
+        // kept as found, rebuilding them from the cell size can round below the
+        // rightmost or topmost corner
+        this.maxX = hiX;
+        this.maxY = hiY;
+        this.cellWidth = spanX / cols;
+        this.cellHeight = spanY / rows;
+
+        // first pass counts the triangles per cell, second pass fills them in
+        cellStart = new int[cols * rows + 1];
+        for (int t = 0; t < numTriangles; t++) {
+            forEachCell(t, cellStart, null);
+        }
+        int sum = 0;
+        for (int i = 0; i < cellStart.length; i++) {
+            int count = cellStart[i];
+            cellStart[i] = sum;
+            sum += count;
+        }
+        cellTris = new int[sum];
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length);
+        for (int t = 0; t < numTriangles; t++) {
+            forEachCell(t, fill, cellTris);
+        }
+    }
+
+    /**
+     * Visit every grid cell the triangle t overlaps. When out is null the cell's
+     * counter is incremented, otherwise t is written at the cell's next free slot.
+     * Each row of cells only gets the columns the triangle spans within that row, so
+     * a long thin triangle is stored in the cells along it rather than every cell of
+     * its bounding box
+     * @param t the triangle id
+     * @param slots per cell counters or write positions
+     * @param out the array of triangle ids being filled, or null when counting
+     */
+    private void forEachCell(int t, int[] slots, int[] out) {
+        double loY = Math.min(triY[3*t], Math.min(triY[3*t + 1], triY[3*t + 2]));
+        double hiY = Math.max(triY[3*t], Math.max(triY[3*t + 1], triY[3*t + 2]));
+        int r0 = rowOf(loY);
+        int r1 = rowOf(hiY);
+        // a little slack so rounding in the edge crossings can not drop a cell
+        double pad = cellWidth * 1e-9;
+        for (int r = r0; r <= r1; r++) {
+            double y0 = (r == r0) ? loY : minY + r * cellHeight;
+            double y1 = (r == r1) ? hiY : minY + (r + 1) * cellHeight;
+            // the part of the triangle inside this row is bounded by its edges
+            // clipped to the row
+            double loX = Double.MAX_VALUE;
+            double hiX = -Double.MAX_VALUE;
+            for (int k = 0; k < 3; k++) {
+                int a = 3*t + k;
+                int b = 3*t + (k + 1) % 3;
+                double ax = triX[a];
+                double ay = triY[a];
+                double bx = triX[b];
+                double by = triY[b];
+                if (ay > by) {
+                    double tmp = ax; ax = bx; bx = tmp;
+                    tmp = ay; ay = by; by = tmp;
+                }
+                double lo = Math.max(ay, y0);
+                double hi = Math.min(by, y1);
+                if (lo > hi) {
+                    continue;
+                }
+                double xLo = ax;
+                double xHi = bx;
+                if (by > ay) {
+                    xLo = ax + (bx - ax) * (lo - ay) / (by - ay);
+                    xHi = ax + (bx - ax) * (hi - ay) / (by - ay);
+                }
+                loX = Math.min(loX, Math.min(xLo, xHi));
+                hiX = Math.max(hiX, Math.max(xLo, xHi));
+            }
+            if (loX > hiX) {
+                continue;
+            }
+            int c0 = colOf(loX - pad);
+            int c1 = colOf(hiX + pad);
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                if (out == null) {
+                    slots[cell]++;
+                } else {
+                    out[slots[cell]++] = t;
+                }
+            }
+        }
+    }
+
+    private int colOf(double x) {
+        int c = (int) ((x - minX) / cellWidth);
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    private int rowOf(double y) {
+        int r = (int) ((y - minY) / cellHeight);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    /**
+     * Find the triangle containing a point. Points on a shared edge report whichever
+     * of the adjacent triangles is found first
+     * @param x the x coordinate of the query
+     * @param y the y coordinate of the query
+     * @return the index of the containing triangle in the list passed to the
+     *         constructor, or -1 if the point is outside the triangulation
+     */
+    public int locate(double x, double y) {
+        if (numTriangles == 0 || x < minX || y < minY || x > maxX || y > maxY) {
+            return -1;
+        }
+        int cell = rowOf(y) * cols + colOf(x);
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int t = cellTris[i];
+            if (contains(t, x, y)) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Locate a batch of points. The coordinate arrays and the output array must all
+     * have the same length
+     * @param xs the x coordinates of the queries
+     * @param ys the y coordinates of the queries
+     * @param out receives the triangle id (or -1) for each query
+     */
+    public void locate(double[] xs, double[] ys, int[] out) {
+        locate(xs, ys, out, 0, xs.length);
+    }
+
+    /**
+     * Locate the queries in the range [from, to). Disjoint ranges can be handed to
+     * different threads
+     * @param xs the x coordinates of the queries
+     * @param ys the y coordinates of the queries
+     * @param out receives the triangle id (or -1) for each query
+     * @param from first query index, inclusive
+     * @param to last query index, exclusive
+     */
+    public void locate(double[] xs, double[] ys, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = locate(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Check if a point lies in (or on the boundary of) triangle t, for either winding
+     * @param t the triangle id
+     * @param x the x coordinate of the query
+     * @param y the y coordinate of the query
+     * @return true or false
+     */
+    private boolean contains(int t, double x, double y) {
+        double ax = triX[3*t], ay = triY[3*t];
+        double bx = triX[3*t + 1], by = triY[3*t + 1];
+        double cx = triX[3*t + 2], cy = triY[3*t + 2];
+        double d1 = (bx - ax) * (y - ay) - (by - ay) * (x - ax);
+        double d2 = (cx - bx) * (y - by) - (cy - by) * (x - bx);
+        double d3 = (ax - cx) * (y - cy) - (ay - cy) * (x - cx);
+        boolean hasNeg = d1 < 0 || d2 < 0 || d3 < 0;
+        boolean hasPos = d1 > 0 || d2 > 0 || d3 > 0;
+        return !(hasNeg && hasPos);
+    }
+
+    /**
+     * @return the number of triangles indexed
+     */
+    public int size() {
+        return numTriangles;
+    }
+}
@@ -0,0 +1,90 @@
+import jdk.jfr.*;
+
+/**
+ * This class holds the JDK Flight Recorder events emitted by each stage of the
+ * triangulator, so slow runs can be lined up against GC pauses and safepoints in a
+ * flight recording.
+ *
+ * Every event is disabled by default, and a disabled event costs next to nothing.
+ * Turn them on with the settings profile in res/triangulator.jfc, layered on top of
+ * the JDK's default profile so the GC and safepoint events are still recorded:
+ *
+ *    java -XX:StartFlightRecording:settings=default,settings=res/triangulator.jfc,filename=run.jfr Drawer
+ *
+ * Passing res/triangulator.jfc on its own records only the triangulator events.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class TriangulatorEvents {
+
+    private TriangulatorEvents() {
+    }
+
+    @Name("triangulator.SortPoints")
+    @Label("Sort Points")
+    @Description("QuickHull sorting its input by x coordinate")
+    @Category("Triangulator")
+    @Enabled(false)
+    public static class SortPoints extends Event {
+        @Label("Input Size")
+        int inputSize;
+    }
+
+    @Name("triangulator.RunQuickHull")
+    @Label("Quick Hull")
+    @Description("A full run of QuickHull.runQuickHull")
+    @Category("Triangulator")
+    @Enabled(false)
+    public static class RunQuickHull extends Event {
+        @Label("Input Size")
+        int inputSize;
+
+        @Label("Hull Size")
+        int hullSize;
+
+        @Label("Recursion Depth")
+        int recursionDepth;
+    }
+
+    @Name("triangulator.FindHull")
+    @Label("Find Hull")
+    @Description("One of the two top level findHull branches, above or below line AB")
+    @Category("Triangulator")
+    @Enabled(false)
+    public static class FindHull extends Event {
+        @Label("Side")
+        String side;
+
+        @Label("Input Size")
+        int inputSize;
+
+        @Label("Hull Size")
+        int hullSize;
+
+        @Label("Recursion Depth")
+        int recursionDepth;
+    }
+
+    @Name("triangulator.SortCCW")
+    @Label("Sort CCW")
+    @Description("Sorting the hull points in CCW order")
+    @Category("Triangulator")
+    @Enabled(false)
+    public static class SortCCW extends Event {
+        @Label("Hull Size")
+        int hullSize;
+    }
+
+    @Name("triangulator.ClipEars")
+    @Label("Clip Ears")
+    @Description("A full run of EarClipping.clipEars")
+    @Category("Triangulator")
+    @Enabled(false)
+    public static class ClipEars extends Event {
+        @Label("Input Size")
+        int inputSize;
+
+        @Label("Triangles Produced")
+        int trianglesProduced;
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.*;
+import java.util.stream.IntStream;
+import edu.macalester.graphics.*;
+
+/**
+ * This class generates reproducible sets of random points for benchmarks and load
+ * tests. Points are written straight into primitive coordinate arrays, in parallel,
+ * and the same seed always produces the same points no matter how many threads
+ * are used.
+ *
+ * The generator is split into fixed size blocks, and each block gets its own
+ * SplittableRandom derived from the seed, so no random state is shared between
+ * threads.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+public class WorkloadGenerator {
+
+    /**
+     * The available point distributions. Each one exercises a different path through
+     * Quick Hull, from hulls with a handful of points to hulls containing every point
+     */
+    public enum Distribution {
+        // uniform in the bounding box, hull size grows like log n
+        UNIFORM_BOX,
+        // uniform in the disk inscribed in the box, hull size grows like n^(1/3)
+        UNIFORM_DISK,
+        // every point on the circle inscribed in the box, so h = n
+        CIRCLE,
+        // a few gaussian blobs scattered in the box
+        GAUSSIAN_CLUSTERS,
+        // points jittered slightly off the diagonal of the box
+        NEAR_COLLINEAR
+    }
+
+    // points generated per block, each block has its own random stream
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    // number of blobs for GAUSSIAN_CLUSTERS
+    private static final int NUM_CLUSTERS = 8;
+
+    private final long seed;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    // constructor
+    public WorkloadGenerator(long seed, double minX, double minY, double maxX, double maxY) {
+        if (maxX < minX || maxY < minY) {
+            throw new IllegalArgumentException("empty bounding box");
+        }
+        this.seed = seed;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Fill the coordinate arrays with points from the given distribution. Both arrays
+     * must have the same length, which is the number of points generated
+     * @param dist the distribution to draw from
+     * @param xs receives the x coordinates
+     * @param ys receives the y coordinates
+     */
+    public void fill(Distribution dist, double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("coordinate arrays differ in length");
+        }
+        int n = xs.length;
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // derive one generator per block up front so the streams do not depend on
+        // the order in which threads pick up blocks
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            streams[b] = root.split();
+        }
+        double[] centers = clusterCenters(new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L));
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(n, from + BLOCK_SIZE);
+            fillBlock(dist, streams[b], centers, xs, ys, from, to);
+        });
+    }
+
+    /**
+     * Generate points as a list, for handing to QuickHull
+     * @param dist the distribution to draw from
+     * @param n the number of points
+     * @return a list of n points
+     */
+    public ArrayList<Point> generatePoints(Distribution dist, int n) {
+        return generatePoints(dist, n, false);
+    }
+
+    /**
+     * Generate points as a list, optionally floored onto the integer grid the same way
+     * the Drawer floors its random points. Snapping merges nearby points, so CIRCLE no
+     * longer has every point on the hull and NEAR_COLLINEAR collapses onto the few
+     * thousand pixels along the diagonal. Leave it off when those properties matter
+     * @param dist the distribution to draw from
+     * @param n the number of points
+     * @param snapToGrid true to floor every coordinate
+     * @return a list of n points
+     */
+    public ArrayList<Point> generatePoints(Distribution dist, int n, boolean snapToGrid) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        fill(dist, xs, ys);
+        ArrayList<Point> points = new ArrayList<Point>(n);
+        for (int i = 0; i < n; i++) {
+            if (snapToGrid) {
+                points.add(new Point(Math.floor(xs[i]), Math.floor(ys[i])));
+            } else {
+                points.add(new Point(xs[i], ys[i]));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Generate the points of one block
+     */
+    private void fillBlock(Distribution dist, SplittableRandom rand, double[] centers,
+                           double[] xs, double[] ys, int from, int to) {
+        double cx = (minX + maxX) / 2;
+        double cy = (minY + maxY) / 2;
+        double rx = (maxX - minX) / 2;
+        double ry = (maxY - minY) / 2;
+        for (int i = from; i < to; i++) {
+            double x;
+            double y;
+            switch (dist) {
+                case UNIFORM_BOX:
+                    x = minX + rand.nextDouble() * (maxX - minX);
+                    y = minY + rand.nextDouble() * (maxY - minY);
+                    break;
+                case UNIFORM_DISK: {
+                    // sqrt keeps the density uniform over the area
+                    double r = Math.sqrt(rand.nextDouble());
+                    double theta = rand.nextDouble() * 2 * Math.PI;
+                    x = cx + r * rx * Math.cos(theta);
+                    y = cy + r * ry * Math.sin(theta);
+                    break;
+                }
+                case CIRCLE: {
+                    double theta = rand.nextDouble() * 2 * Math.PI;
+                    x = cx + rx * Math.cos(theta);
+                    y = cy + ry * Math.sin(theta);
+                    break;
+                }
+                case GAUSSIAN_CLUSTERS: {
+                    int c = rand.nextInt(NUM_CLUSTERS);
+                    x = centers[2*c] + rand.nextGaussian() * rx / 10;
+                    y = centers[2*c + 1] + rand.nextGaussian() * ry / 10;
+                    break;
+                }
+                case NEAR_COLLINEAR: {
+                    double t = rand.nextDouble();
+                    double jitter = (rand.nextDouble() - 0.5) * 1e-3 * Math.min(rx, ry);
+                    x = minX + t * (maxX - minX);
+                    y = minY + t * (maxY - minY) + jitter;
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("unknown distribution " + dist);
+            }
+            // keep everything inside the box
+            xs[i] = Math.max(minX, Math.min(maxX, x));
+            ys[i] = Math.max(minY, Math.min(maxY, y));
+        }
+    }
+
+    /**
+     * Pick the centers of the gaussian clusters, away from the edges of the box
+     * @param rand generator seeded from the workload seed
+     * @return x and y of each center, interleaved
+     */
+    private double[] clusterCenters(SplittableRandom rand) {
+        double[] centers = new double[2 * NUM_CLUSTERS];
+        for (int c = 0; c < NUM_CLUSTERS; c++) {
+            centers[2*c] = minX + (0.2 + 0.6 * rand.nextDouble()) * (maxX - minX);
+            centers[2*c + 1] = minY + (0.2 + 0.6 * rand.nextDouble()) * (maxY - minY);
+        }
+        return centers;
+    }
+
+    /**
+     * @return the seed this generator replays
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks ConvexPolygons against slow reference versions: intersect against
+ * Sutherland-Hodgman clipping, and merge against the hull of both vertex lists.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class ConvexPolygonsTest {
+
+    private static final int TRIALS = 2000;
+
+    @Test
+    void intersectMatchesClippingOnRandomPolygons() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            ArrayList<Point> P = randomConvex(random, 3 + random.nextInt(20), false);
+            ArrayList<Point> Q = randomConvex(random, 3 + random.nextInt(20), false);
+            checkIntersect(P, Q, 1e-7);
+        }
+    }
+
+    @Test
+    void intersectMatchesClippingOnGridPolygons() {
+        // small integer grids give shared vertices, touching edges and overlapping sides
+        Random random = new Random(2);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            ArrayList<Point> P = randomConvex(random, 3 + random.nextInt(8), true);
+            ArrayList<Point> Q = randomConvex(random, 3 + random.nextInt(8), true);
+            checkIntersect(P, Q, 1e-9);
+        }
+    }
+
+    @Test
+    void intersectAcceptsClockwiseInput() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 200; trial++) {
+            ArrayList<Point> P = randomConvex(random, 3 + random.nextInt(10), false);
+            ArrayList<Point> Q = randomConvex(random, 3 + random.nextInt(10), false);
+            ArrayList<Point> reversed = new ArrayList<Point>(Q);
+            Collections.reverse(reversed);
+            assertEquals(TestGeometry.area(ConvexPolygons.intersect(P, Q)), TestGeometry.area(ConvexPolygons.intersect(P, reversed)), 1e-7);
+        }
+    }
+
+    @Test
+    void intersectOfContainedPolygonIsThePolygon() {
+        ArrayList<Point> outer = square(0, 0, 10);
+        ArrayList<Point> inner = square(2, 3, 4);
+        assertEquals(16, TestGeometry.area(ConvexPolygons.intersect(outer, inner)), 1e-9);
+        assertEquals(16, TestGeometry.area(ConvexPolygons.intersect(inner, outer)), 1e-9);
+    }
+
+    @Test
+    void intersectOfDisjointPolygonsIsEmpty() {
+        assertTrue(ConvexPolygons.intersect(square(0, 0, 1), square(5, 5, 1)).isEmpty());
+        // sharing only a side has no area
+        assertTrue(ConvexPolygons.intersect(square(0, 0, 1), square(1, 0, 1)).isEmpty());
+    }
+
+    @Test
+    void mergeMatchesHullOfUnion() {
+        Random random = new Random(4);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            boolean grid = random.nextBoolean();
+            ArrayList<Point> P = randomConvex(random, 3 + random.nextInt(20), grid);
+            ArrayList<Point> Q = randomConvex(random, 3 + random.nextInt(20), grid);
+            ArrayList<Point> union = new ArrayList<Point>(P);
+            union.addAll(Q);
+            ArrayList<Point> expected = TestGeometry.hull(union);
+            ArrayList<Point> merged = ConvexPolygons.merge(P, Q);
+            assertEquals(TestGeometry.area(expected), TestGeometry.area(merged), 1e-7, "trial " + trial);
+            assertEquals(new HashSet<Point>(expected), new HashSet<Point>(merged), "trial " + trial);
+            assertTrue(TestGeometry.area(merged) > 0, "merge should be CCW");
+        }
+    }
+
+    private static void checkIntersect(ArrayList<Point> P, ArrayList<Point> Q, double tolerance) {
+        ArrayList<Point> expected = clip(P, Q);
+        ArrayList<Point> actual = ConvexPolygons.intersect(P, Q);
+        double expectedArea = TestGeometry.area(expected);
+        assertEquals(expectedArea, TestGeometry.area(actual), tolerance, "P=" + P + " Q=" + Q);
+        if (expectedArea > tolerance) {
+            // the same polygon, once collinear and repeated vertices are dropped
+            assertEquals(corners(expected), corners(actual), "P=" + P + " Q=" + Q);
+        }
+    }
+
+    /**
+     * Sutherland-Hodgman: clip the subject against each edge of the convex clip polygon
+     */
+    private static ArrayList<Point> clip(ArrayList<Point> subject, ArrayList<Point> clipper) {
+        ArrayList<Point> out = new ArrayList<Point>(subject);
+        int m = clipper.size();
+        for (int i = 0; i < m && !out.isEmpty(); i++) {
+            Point a = clipper.get(i);
+            Point b = clipper.get((i + 1) % m);
+            ArrayList<Point> in = out;
+            out = new ArrayList<Point>();
+            for (int j = 0; j < in.size(); j++) {
+                Point p = in.get(j);
+                Point q = in.get((j + 1) % in.size());
+                double sp = TestGeometry.cross(a, b, p);
+                double sq = TestGeometry.cross(a, b, q);
+                if (sp >= 0) {
+                    out.add(p);
+                }
+                if ((sp > 0 && sq < 0) || (sp < 0 && sq > 0)) {
+                    double t = sp / (sp - sq);
+                    out.add(new Point(p.getX() + t * (q.getX() - p.getX()), p.getY() + t * (q.getY() - p.getY())));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The strictly convex corners of a polygon, rounded so that the two versions'
+     * rounding errors compare equal
+     */
+    private static Set<String> corners(ArrayList<Point> vertices) {
+        // clipping can emit the same point twice in a row
+        ArrayList<Point> polygon = new ArrayList<Point>();
+        for (Point p : vertices) {
+            if (polygon.isEmpty() || TestGeometry.distance(polygon.get(polygon.size() - 1), p) > 1e-9) {
+                polygon.add(p);
+            }
+        }
+        while (polygon.size() > 1 && TestGeometry.distance(polygon.get(0), polygon.get(polygon.size() - 1)) <= 1e-9) {
+            polygon.remove(polygon.size() - 1);
+        }
+        Set<String> out = new HashSet<String>();
+        int n = polygon.size();
+        for (int i = 0; i < n; i++) {
+            Point prev = polygon.get((i + n - 1) % n);
+            Point p = polygon.get(i);
+            Point next = polygon.get((i + 1) % n);
+            double scale = Math.max(1, Math.abs(p.getX()) + Math.abs(p.getY()));
+            if (TestGeometry.cross(prev, p, next) > 1e-9 * scale * scale) {
+                out.add(String.format("%.5f,%.5f", p.getX() + 0.0, p.getY() + 0.0));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * A random convex polygon in CCW order, placed at a random offset so that two of
+     * them usually overlap in part
+     */
+    private static ArrayList<Point> randomConvex(Random random, int numPoints, boolean grid) {
+        if (grid) {
+            return TestGeometry.randomHull(random, numPoints, random.nextInt(6), random.nextInt(6), 6, true);
+        }
+        return TestGeometry.randomHull(random, numPoints, random.nextDouble() * 60, random.nextDouble() * 60, 100, false);
+    }
+
+    private static ArrayList<Point> square(double x, double y, double side) {
+        return new ArrayList<Point>(Arrays.asList(new Point(x, y), new Point(x + side, y),
+                new Point(x + side, y + side), new Point(x, y + side)));
+    }
+}
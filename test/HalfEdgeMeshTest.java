@@ -0,0 +1,207 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the structure HalfEdgeMesh builds: twins, counts, vertex rings and strips, on
+ * triangulated polygons and on a grid with interior vertices.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class HalfEdgeMeshTest {
+
+    @Test
+    void triangulatedPolygonsHaveTheExpectedCounts() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 3 + random.nextInt(200);
+            ArrayList<Point> polygon = regularPolygon(n);
+            HalfEdgeMesh mesh = (trial % 2 == 0)
+                    ? EarClipping.clipEarsToMesh(new ArrayList<Point>(polygon))
+                    : new HalfEdgeMesh(MinWeightTriangulation.triangulate(polygon).get(1));
+            assertEquals(n - 2, mesh.numFaces(), "n = " + n);
+            assertEquals(n, mesh.numVertices(), "n = " + n);
+            assertEquals(2 * n - 3, mesh.numEdges(), "n = " + n);
+            assertEquals(n, countBoundary(mesh), "n = " + n);
+            checkTwins(mesh);
+            checkRings(mesh);
+            checkStrips(mesh);
+        }
+    }
+
+    @Test
+    void gridHasClosedRingsAroundInteriorVertices() {
+        int size = 6;
+        HalfEdgeMesh mesh = new HalfEdgeMesh(grid(size));
+        int numVertices = (size + 1) * (size + 1);
+        int numFaces = 2 * size * size;
+        assertEquals(numVertices, mesh.numVertices());
+        assertEquals(numFaces, mesh.numFaces());
+        // Euler: V - E + F = 1 for a disk
+        assertEquals(numVertices + numFaces - 1, mesh.numEdges());
+        assertEquals(4 * size, countBoundary(mesh));
+        checkTwins(mesh);
+        checkRings(mesh);
+        checkStrips(mesh);
+
+        // an interior vertex has a boundary-free ring of six triangles in this grid
+        int interior = -1;
+        for (int v = 0; v < mesh.numVertices(); v++) {
+            if (mesh.getX(v) == 3 && mesh.getY(v) == 3) {
+                interior = v;
+            }
+        }
+        assertTrue(interior >= 0);
+        assertFalse(mesh.isBoundary(mesh.outgoing(interior)));
+        assertEquals(6, ringSize(mesh, interior));
+    }
+
+    @Test
+    void clockwiseTrianglesAreTurnedAround() {
+        ArrayList<ArrayList<Point>> triangles = new ArrayList<ArrayList<Point>>();
+        triangles.add(new ArrayList<Point>(Arrays.asList(new Point(0, 0), new Point(0, 1), new Point(1, 0))));
+        triangles.add(new ArrayList<Point>(Arrays.asList(new Point(1, 0), new Point(0, 1), new Point(1, 1))));
+        HalfEdgeMesh mesh = new HalfEdgeMesh(triangles);
+        for (ArrayList<Point> t : mesh.getTriangles()) {
+            assertTrue(TestGeometry.cross(t.get(0), t.get(1), t.get(2)) > 0, "not CCW: " + t);
+        }
+        checkTwins(mesh);
+        assertEquals(5, mesh.numEdges());
+        // the two triangles are each other's only neighbor
+        int shared = 0;
+        for (int k = 0; k < 3; k++) {
+            if (mesh.neighbor(0, k) == 1) {
+                shared++;
+            } else {
+                assertEquals(-1, mesh.neighbor(0, k));
+            }
+        }
+        assertEquals(1, shared);
+    }
+
+    @Test
+    void edgesVisitEverySideOnce() {
+        HalfEdgeMesh mesh = new HalfEdgeMesh(grid(4));
+        int[] edges = mesh.edges();
+        assertEquals(mesh.numEdges(), edges.length);
+        Set<Long> sides = new HashSet<Long>();
+        for (int h : edges) {
+            assertTrue(sides.add(sideKey(mesh, h)));
+        }
+        for (int h = 0; h < mesh.numHalfEdges(); h++) {
+            assertTrue(sides.contains(sideKey(mesh, h)));
+        }
+    }
+
+    private static void checkTwins(HalfEdgeMesh mesh) {
+        for (int h = 0; h < mesh.numHalfEdges(); h++) {
+            assertEquals(h, mesh.next(mesh.next(mesh.next(h))));
+            assertEquals(h / 3, mesh.face(h));
+            int t = mesh.twin(h);
+            if (t >= 0) {
+                assertEquals(h, mesh.twin(t));
+                assertEquals(mesh.vertex(mesh.next(h)), mesh.vertex(t));
+                assertEquals(mesh.vertex(h), mesh.vertex(mesh.next(t)));
+                assertTrue(mesh.face(t) != mesh.face(h));
+            }
+        }
+    }
+
+    /**
+     * Turning CCW around each vertex from its outgoing half-edge must visit every
+     * half-edge leaving it, ending at the boundary or back at the start
+     */
+    private static void checkRings(HalfEdgeMesh mesh) {
+        int[] degree = new int[mesh.numVertices()];
+        for (int h = 0; h < mesh.numHalfEdges(); h++) {
+            degree[mesh.vertex(h)]++;
+        }
+        for (int v = 0; v < mesh.numVertices(); v++) {
+            assertEquals(degree[v], ringSize(mesh, v), "vertex " + v);
+        }
+    }
+
+    private static int ringSize(HalfEdgeMesh mesh, int v) {
+        int start = mesh.outgoing(v);
+        int h = start;
+        int count = 0;
+        do {
+            assertEquals(v, mesh.vertex(h));
+            count++;
+            h = mesh.twin(mesh.prev(h));
+        } while (h >= 0 && h != start && count <= mesh.numHalfEdges());
+        return count;
+    }
+
+    /**
+     * Every triangle appears in exactly one strip, with the strip's even triangles CCW
+     * and its odd ones CW
+     */
+    private static void checkStrips(HalfEdgeMesh mesh) {
+        Set<String> faces = new HashSet<String>();
+        for (int f = 0; f < mesh.numFaces(); f++) {
+            faces.add(faceKey(mesh.vertex(3*f), mesh.vertex(3*f + 1), mesh.vertex(3*f + 2)));
+        }
+        int count = 0;
+        for (int[] strip : mesh.toStrips()) {
+            assertTrue(strip.length >= 3);
+            for (int i = 0; i + 2 < strip.length; i++) {
+                double area = TestGeometry.cross(mesh.getPoint(strip[i]), mesh.getPoint(strip[i + 1]), mesh.getPoint(strip[i + 2]));
+                assertEquals(i % 2 == 0, area > 0, "strip triangle " + i + " has the wrong winding");
+                assertTrue(faces.remove(faceKey(strip[i], strip[i + 1], strip[i + 2])), "strip triangle is not a face, or repeats");
+                count++;
+            }
+        }
+        assertEquals(mesh.numFaces(), count);
+        assertTrue(faces.isEmpty());
+    }
+
+    private static int countBoundary(HalfEdgeMesh mesh) {
+        int count = 0;
+        for (int h = 0; h < mesh.numHalfEdges(); h++) {
+            if (mesh.isBoundary(h)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long sideKey(HalfEdgeMesh mesh, int h) {
+        int a = mesh.vertex(h);
+        int b = mesh.vertex(mesh.next(h));
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private static String faceKey(int a, int b, int c) {
+        int[] v = {a, b, c};
+        Arrays.sort(v);
+        return Arrays.toString(v);
+    }
+
+    private static ArrayList<Point> regularPolygon(int n) {
+        ArrayList<Point> polygon = new ArrayList<Point>();
+        for (int i = 0; i < n; i++) {
+            double t = 2 * Math.PI * i / n;
+            polygon.add(new Point(1000 * Math.cos(t), 1000 * Math.sin(t)));
+        }
+        return polygon;
+    }
+
+    /**
+     * A size x size grid of unit squares, each cut into two triangles along the same
+     * diagonal
+     */
+    private static ArrayList<ArrayList<Point>> grid(int size) {
+        ArrayList<ArrayList<Point>> triangles = new ArrayList<ArrayList<Point>>();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                triangles.add(new ArrayList<Point>(Arrays.asList(
+                        new Point(x, y), new Point(x + 1, y), new Point(x + 1, y + 1))));
+                triangles.add(new ArrayList<Point>(Arrays.asList(
+                        new Point(x, y), new Point(x + 1, y + 1), new Point(x, y + 1))));
+            }
+        }
+        return triangles;
+    }
+}
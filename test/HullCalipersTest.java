@@ -0,0 +1,131 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks HullCalipers against O(h^2) brute force: the diameter over every pair of
+ * vertices, and the width and minimum rectangle over every hull edge.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class HullCalipersTest {
+
+    private static final int TRIALS = 2000;
+
+    @Test
+    void matchesBruteForceOnRandomHulls() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            boolean grid = trial % 2 == 0;
+            ArrayList<Point> hull = grid
+                    ? TestGeometry.randomHull(random, 3 + random.nextInt(40), 0, 0, 9, true)
+                    : TestGeometry.randomHull(random, 3 + random.nextInt(40), 0, 0, 1000, false);
+            check(hull, "trial " + trial);
+        }
+    }
+
+    @Test
+    void acceptsClockwiseAndCollinearVertices() {
+        ArrayList<Point> square = new ArrayList<Point>(Arrays.asList(
+                new Point(0, 0), new Point(2, 0), new Point(4, 0), new Point(4, 4),
+                new Point(0, 4), new Point(0, 2)));
+        check(square, "collinear");
+        Collections.reverse(square);
+        check(square, "clockwise");
+        HullCalipers calipers = new HullCalipers(square);
+        assertEquals(Math.sqrt(32), calipers.getDiameter(), 1e-9);
+        assertEquals(4, calipers.getWidth(), 1e-9);
+        assertEquals(16, calipers.getMinRectangleArea(), 1e-9);
+    }
+
+    @Test
+    void rotatedRectangleIsItsOwnMinimum() {
+        double c = Math.cos(0.3);
+        double s = Math.sin(0.3);
+        ArrayList<Point> rect = new ArrayList<Point>();
+        double[][] corners = {{0, 0}, {5, 0}, {5, 2}, {0, 2}};
+        for (double[] p : corners) {
+            rect.add(new Point(10 + c * p[0] - s * p[1], 20 + s * p[0] + c * p[1]));
+        }
+        HullCalipers calipers = new HullCalipers(rect);
+        assertEquals(10, calipers.getMinRectangleArea(), 1e-9);
+        assertEquals(2, calipers.getWidth(), 1e-9);
+        assertEquals(Math.sqrt(29), calipers.getDiameter(), 1e-9);
+    }
+
+    @Test
+    void degenerateHulls() {
+        HullCalipers segment = new HullCalipers(new ArrayList<Point>(Arrays.asList(
+                new Point(1, 1), new Point(4, 5))));
+        assertEquals(5, segment.getDiameter(), 1e-12);
+        assertEquals(0, segment.getWidth(), 0);
+        assertEquals(0, segment.getMinRectangleArea(), 0);
+
+        HullCalipers point = new HullCalipers(new ArrayList<Point>(Arrays.asList(new Point(3, 3))));
+        assertEquals(0, point.getDiameter(), 0);
+        assertEquals(0, point.getMinRectangleArea(), 0);
+    }
+
+    private static void check(ArrayList<Point> hull, String message) {
+        HullCalipers calipers = new HullCalipers(hull);
+        int n = hull.size();
+        double scale = 1;
+        for (Point p : hull) {
+            scale = Math.max(scale, Math.abs(p.getX()) + Math.abs(p.getY()));
+        }
+        double tolerance = 1e-9 * scale * scale;
+
+        double diameter = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                diameter = Math.max(diameter, TestGeometry.distance(hull.get(i), hull.get(j)));
+            }
+        }
+        assertEquals(diameter, calipers.getDiameter(), 1e-9 * scale, message);
+        Point[] ends = calipers.getDiameterPoints();
+        assertEquals(diameter, TestGeometry.distance(ends[0], ends[1]), 1e-9 * scale, message);
+
+        // for every edge, the enclosing strip and rectangle with a side along it
+        double width = Double.MAX_VALUE;
+        double area = Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            Point a = hull.get(i);
+            Point b = hull.get((i + 1) % n);
+            double len = TestGeometry.distance(a, b);
+            if (len == 0) {
+                continue;
+            }
+            double ux = (b.getX() - a.getX()) / len;
+            double uy = (b.getY() - a.getY()) / len;
+            double lo = Double.MAX_VALUE;
+            double hi = -Double.MAX_VALUE;
+            double height = 0;
+            for (Point p : hull) {
+                double dx = p.getX() - a.getX();
+                double dy = p.getY() - a.getY();
+                double along = ux * dx + uy * dy;
+                lo = Math.min(lo, along);
+                hi = Math.max(hi, along);
+                height = Math.max(height, Math.abs(ux * dy - uy * dx));
+            }
+            width = Math.min(width, height);
+            area = Math.min(area, height * (hi - lo));
+        }
+        assertEquals(width, calipers.getWidth(), 1e-9 * scale, message);
+        assertEquals(area, calipers.getMinRectangleArea(), tolerance, message);
+
+        // the reported rectangle has that area and holds every hull point
+        ArrayList<Point> rect = calipers.getMinRectangle();
+        assertEquals(area, TestGeometry.area(rect), tolerance, message);
+        for (Point p : hull) {
+            for (int k = 0; k < 4; k++) {
+                Point c = rect.get(k);
+                Point d = rect.get((k + 1) % 4);
+                double side = (d.getX() - c.getX()) * (p.getY() - c.getY())
+                        - (d.getY() - c.getY()) * (p.getX() - c.getX());
+                assertTrue(side >= -tolerance, message + ": " + p + " outside " + rect);
+            }
+        }
+    }
+}
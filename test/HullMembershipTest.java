@@ -0,0 +1,116 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks HullMembership's wedge search against a linear test of every hull edge. Hulls
+ * and queries are on a small integer grid, so the arithmetic is exact and many queries
+ * land on edges, vertices and the fan's rays.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class HullMembershipTest {
+
+    @Test
+    void matchesEdgeByEdgeTest() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 1000; trial++) {
+            ArrayList<Point> hull = TestGeometry.randomHull(random, 3 + random.nextInt(30), 0, 0, 20, true);
+            HullMembership membership = new HullMembership(hull);
+            for (int x = -2; x <= 22; x++) {
+                for (int y = -2; y <= 22; y++) {
+                    assertEquals(linear(hull, x, y), membership.classify(x, y), "hull " + hull + " query " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void acceptsClockwiseRepeatedAndCollinearVertices() {
+        ArrayList<Point> square = new ArrayList<Point>(Arrays.asList(
+                new Point(0, 0), new Point(0, 0), new Point(2, 0), new Point(4, 0),
+                new Point(4, 4), new Point(2, 4), new Point(0, 4), new Point(0, 0)));
+        ArrayList<Point> reversed = new ArrayList<Point>(square);
+        Collections.reverse(reversed);
+        ArrayList<Point> corners = new ArrayList<Point>(Arrays.asList(
+                new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(0, 4)));
+        HullMembership forward = new HullMembership(square);
+        HullMembership backward = new HullMembership(reversed);
+        assertEquals(4, forward.size());
+        assertEquals(4, backward.size());
+        for (int x = -1; x <= 5; x++) {
+            for (int y = -1; y <= 5; y++) {
+                byte expected = linear(corners, x, y);
+                assertEquals(expected, forward.classify(x, y));
+                assertEquals(expected, backward.classify(x, y));
+            }
+        }
+    }
+
+    @Test
+    void degenerateHulls() {
+        HullMembership empty = new HullMembership(new ArrayList<Point>());
+        assertEquals(HullMembership.OUTSIDE, empty.classify(0, 0));
+
+        HullMembership point = new HullMembership(new ArrayList<Point>(Arrays.asList(new Point(1, 1))));
+        assertEquals(HullMembership.ON_BOUNDARY, point.classify(1, 1));
+        assertEquals(HullMembership.OUTSIDE, point.classify(1, 2));
+
+        // every vertex collinear: the hull is the segment between the two ends
+        HullMembership segment = new HullMembership(new ArrayList<Point>(Arrays.asList(
+                new Point(2, 2), new Point(0, 0), new Point(4, 4), new Point(1, 1))));
+        assertEquals(2, segment.size());
+        assertEquals(HullMembership.ON_BOUNDARY, segment.classify(0, 0));
+        assertEquals(HullMembership.ON_BOUNDARY, segment.classify(3, 3));
+        assertEquals(HullMembership.ON_BOUNDARY, segment.classify(4, 4));
+        assertEquals(HullMembership.OUTSIDE, segment.classify(5, 5));
+        assertEquals(HullMembership.OUTSIDE, segment.classify(-1, -1));
+        assertEquals(HullMembership.OUTSIDE, segment.classify(2, 3));
+    }
+
+    @Test
+    void batchAndParallelMatchSingleQueries() {
+        Random random = new Random(2);
+        ArrayList<Point> hull = TestGeometry.randomHull(random, 40, 0, 0, 20, true);
+        HullMembership membership = new HullMembership(hull);
+        // more than one parallel block
+        int count = 100_000;
+        double[] qx = new double[count];
+        double[] qy = new double[count];
+        for (int i = 0; i < count; i++) {
+            qx[i] = random.nextInt(25) - 2;
+            qy[i] = random.nextInt(25) - 2;
+        }
+        byte[] batch = new byte[count];
+        byte[] parallel = new byte[count];
+        membership.classify(qx, qy, batch);
+        membership.classifyParallel(qx, qy, parallel);
+        for (int i = 0; i < count; i++) {
+            byte expected = membership.classify(qx[i], qy[i]);
+            assertEquals(expected, batch[i]);
+            assertEquals(expected, parallel[i]);
+        }
+    }
+
+    /**
+     * Outside if right of any edge of the CCW hull, on the boundary if on the line of
+     * any edge and right of none
+     */
+    private static byte linear(ArrayList<Point> hull, double x, double y) {
+        int n = hull.size();
+        boolean onEdge = false;
+        for (int i = 0; i < n; i++) {
+            Point a = hull.get(i);
+            Point b = hull.get((i + 1) % n);
+            double side = (b.getX() - a.getX()) * (y - a.getY()) - (b.getY() - a.getY()) * (x - a.getX());
+            if (side < 0) {
+                return HullMembership.OUTSIDE;
+            }
+            if (side == 0) {
+                onEdge = true;
+            }
+        }
+        return onEdge ? HullMembership.ON_BOUNDARY : HullMembership.INSIDE;
+    }
+}
@@ -0,0 +1,277 @@
+import java.math.BigInteger;
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks IntegerGeometry against exact references: orient against BigInteger arithmetic
+ * out to the ends of the int range, convexHull against the O(n^3) edge test, and
+ * triangulate against the area of star shaped polygons.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class IntegerGeometryTest {
+
+    @Test
+    void packRoundTripsAndSortsByXThenY() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            int x1 = coordinate(random, i);
+            int y1 = coordinate(random, i);
+            int x2 = coordinate(random, i);
+            int y2 = coordinate(random, i);
+            long p = IntegerGeometry.pack(x1, y1);
+            long q = IntegerGeometry.pack(x2, y2);
+            assertEquals(x1, IntegerGeometry.x(p));
+            assertEquals(y1, IntegerGeometry.y(p));
+            int expected = (x1 != x2) ? Integer.compare(x1, x2) : Integer.compare(y1, y2);
+            assertEquals(expected, Integer.signum(Long.compare(p, q)));
+        }
+    }
+
+    @Test
+    void orientMatchesBigInteger() {
+        Random random = new Random(2);
+        for (int i = 0; i < 300_000; i++) {
+            int[] c = new int[6];
+            for (int k = 0; k < 6; k++) {
+                c[k] = coordinate(random, i);
+            }
+            long a = IntegerGeometry.pack(c[0], c[1]);
+            long b = IntegerGeometry.pack(c[2], c[3]);
+            long p = IntegerGeometry.pack(c[4], c[5]);
+            BigInteger cross = big(c[2] - (long) c[0]).multiply(big(c[5] - (long) c[1]))
+                    .subtract(big(c[3] - (long) c[1]).multiply(big(c[4] - (long) c[0])));
+            assertEquals(cross.signum(), IntegerGeometry.orient(a, b, p), Arrays.toString(c));
+        }
+    }
+
+    @Test
+    void orientIsExactAtTheCorners() {
+        int max = Integer.MAX_VALUE;
+        int min = Integer.MIN_VALUE;
+        // collinear along the full diagonal, where doubles would round
+        assertEquals(0, IntegerGeometry.orient(IntegerGeometry.pack(min, min),
+                IntegerGeometry.pack(max, max), IntegerGeometry.pack(0, 0)));
+        assertEquals(1, IntegerGeometry.orient(IntegerGeometry.pack(min, min),
+                IntegerGeometry.pack(max, max), IntegerGeometry.pack(0, 1)));
+        assertEquals(-1, IntegerGeometry.orient(IntegerGeometry.pack(min, min),
+                IntegerGeometry.pack(max, max), IntegerGeometry.pack(1, 0)));
+        // products differing only in their lowest bit
+        assertEquals(-1, IntegerGeometry.orient(IntegerGeometry.pack(min, min),
+                IntegerGeometry.pack(max, max - 1), IntegerGeometry.pack(max - 1, max - 2)));
+    }
+
+    @Test
+    void convexHullMatchesBruteForce() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 1 + random.nextInt(60);
+            int range = 1 + random.nextInt(20);
+            long[] points = new long[n];
+            for (int i = 0; i < n; i++) {
+                points[i] = IntegerGeometry.pack(random.nextInt(range), random.nextInt(range));
+            }
+            long[] copy = points.clone();
+            long[] hull = IntegerGeometry.convexHull(points);
+            assertArrayEquals(copy, points, "input was modified");
+
+            assertEquals(bruteForceHull(points), toSet(hull), "trial " + trial);
+            assertEquals(toSet(hull).size(), hull.length, "repeated hull vertex");
+            if (hull.length >= 3) {
+                // strictly convex, CCW, from the lowest leftmost point
+                for (int i = 0; i < hull.length; i++) {
+                    assertEquals(1, IntegerGeometry.orient(hull[i], hull[(i + 1) % hull.length],
+                            hull[(i + 2) % hull.length]));
+                    assertTrue(hull[0] <= hull[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void triangulateCoversStarPolygons() {
+        Random random = new Random(4);
+        int tested = 0;
+        while (tested < 300) {
+            long[] polygon = starPolygon(random, 3 + random.nextInt(100));
+            if (polygon == null) {
+                continue;
+            }
+            if (tested % 2 == 1) {
+                reverse(polygon);
+            }
+            tested++;
+            int m = polygon.length;
+            int[] triangles = IntegerGeometry.triangulate(polygon);
+            assertEquals(3 * (m - 2), triangles.length);
+            long area = 0;
+            for (int k = 0; k < triangles.length; k += 3) {
+                long twice = twiceArea(polygon[triangles[k]], polygon[triangles[k + 1]], polygon[triangles[k + 2]]);
+                assertTrue(twice >= 0, "triangle " + k / 3 + " is CW");
+                area += twice;
+            }
+            assertEquals(Math.abs(twicePolygonArea(polygon)), area);
+        }
+    }
+
+    @Test
+    void triangulateHullOfIntegerPoints() {
+        Random random = new Random(5);
+        ArrayList<Point> points = new ArrayList<Point>();
+        for (int i = 0; i < 2000; i++) {
+            points.add(new Point(random.nextInt(1000), random.nextInt(1000)));
+        }
+        long[] hull = IntegerGeometry.convexHull(IntegerGeometry.pack(points));
+        ArrayList<ArrayList<ArrayList<Point>>> result = IntegerGeometry.triangulateHull(points);
+        assertEquals(hull.length - 3, result.get(0).size());
+        assertEquals(hull.length - 2, result.get(1).size());
+    }
+
+    @Test
+    void packRejectsPointsOffTheGrid() {
+        ArrayList<Point> points = new ArrayList<Point>(Arrays.asList(new Point(1, 2), new Point(1.5, 2)));
+        assertThrows(IllegalArgumentException.class, () -> IntegerGeometry.pack(points));
+    }
+
+    /**
+     * Mostly random ints, some small values, and some near the ends of the int range
+     */
+    private static int coordinate(Random random, int i) {
+        switch (i % 3) {
+            case 0:
+                return random.nextInt();
+            case 1:
+                return random.nextInt(21) - 10;
+            default:
+                return random.nextBoolean() ? Integer.MAX_VALUE - random.nextInt(3) : Integer.MIN_VALUE + random.nextInt(3);
+        }
+    }
+
+    /**
+     * A hull vertex is an end of a hull edge, and a - b is a hull edge if no point is
+     * right of it and every point on its line lies between a and b
+     */
+    private static Set<Long> bruteForceHull(long[] points) {
+        Set<Long> distinct = toSet(points);
+        Set<Long> out = new HashSet<Long>();
+        if (distinct.size() < 3) {
+            return distinct;
+        }
+        for (long a : distinct) {
+            for (long b : distinct) {
+                if (a == b) {
+                    continue;
+                }
+                boolean edge = true;
+                for (long p : distinct) {
+                    int side = IntegerGeometry.orient(a, b, p);
+                    if (side < 0 || (side == 0 && !between(a, b, p))) {
+                        edge = false;
+                        break;
+                    }
+                }
+                if (edge) {
+                    out.add(a);
+                    out.add(b);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean between(long a, long b, long p) {
+        return Math.min(a, b) <= p && p <= Math.max(a, b);
+    }
+
+    /**
+     * Random points around the origin in angle order, or null if an angle gap is wide
+     * enough that the origin might not be inside. The points are sorted by their exact
+     * angle after rounding, keeping one point per direction, so the polygon is star
+     * shaped around the origin and simple
+     */
+    private static long[] starPolygon(Random random, int n) {
+        double[] angles = new double[n];
+        for (int i = 0; i < n; i++) {
+            angles[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        Arrays.sort(angles);
+        double gap = angles[0] + 2 * Math.PI - angles[n - 1];
+        for (int i = 1; i < n; i++) {
+            gap = Math.max(gap, angles[i] - angles[i - 1]);
+        }
+        if (gap > 2.5) {
+            return null;
+        }
+        long origin = IntegerGeometry.pack(0, 0);
+        Long[] rounded = new Long[n];
+        for (int i = 0; i < n; i++) {
+            double radius = 100 + random.nextInt(900);
+            rounded[i] = IntegerGeometry.pack((int) Math.round(radius * Math.cos(angles[i])),
+                    (int) Math.round(radius * Math.sin(angles[i])));
+        }
+        Arrays.sort(rounded, (p, q) -> {
+            int halfP = upperHalf(p) ? 0 : 1;
+            int halfQ = upperHalf(q) ? 0 : 1;
+            return (halfP != halfQ) ? halfP - halfQ : -IntegerGeometry.orient(origin, p, q);
+        });
+        long[] polygon = new long[n];
+        int m = 0;
+        for (long p : rounded) {
+            if (m == 0 || !sameDirection(polygon[m - 1], p)) {
+                polygon[m++] = p;
+            }
+        }
+        while (m > 1 && sameDirection(polygon[m - 1], polygon[0])) {
+            m--;
+        }
+        return (m < 3) ? null : Arrays.copyOf(polygon, m);
+    }
+
+    private static boolean upperHalf(long p) {
+        int y = IntegerGeometry.y(p);
+        return y > 0 || (y == 0 && IntegerGeometry.x(p) > 0);
+    }
+
+    private static boolean sameDirection(long p, long q) {
+        return upperHalf(p) == upperHalf(q) && IntegerGeometry.orient(IntegerGeometry.pack(0, 0), p, q) == 0;
+    }
+
+    private static long twiceArea(long a, long b, long c) {
+        long ax = IntegerGeometry.x(a);
+        long ay = IntegerGeometry.y(a);
+        return (IntegerGeometry.x(b) - ax) * (IntegerGeometry.y(c) - ay)
+                - (IntegerGeometry.y(b) - ay) * (IntegerGeometry.x(c) - ax);
+    }
+
+    private static long twicePolygonArea(long[] polygon) {
+        long sum = 0;
+        for (int i = 0; i < polygon.length; i++) {
+            long p = polygon[i];
+            long q = polygon[(i + 1) % polygon.length];
+            sum += (long) IntegerGeometry.x(p) * IntegerGeometry.y(q) - (long) IntegerGeometry.x(q) * IntegerGeometry.y(p);
+        }
+        return sum;
+    }
+
+    private static void reverse(long[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static Set<Long> toSet(long[] points) {
+        Set<Long> out = new HashSet<Long>();
+        for (long p : points) {
+            out.add(p);
+        }
+        return out;
+    }
+
+    private static BigInteger big(long v) {
+        return BigInteger.valueOf(v);
+    }
+}
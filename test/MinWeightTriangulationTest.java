@@ -0,0 +1,121 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the tiled MinWeightTriangulation against the textbook O(n^3) dynamic program,
+ * on polygons small enough to fit in one tile and large enough to span several.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class MinWeightTriangulationTest {
+
+    @Test
+    void matchesSimpleDynamicProgramOnSmallPolygons() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 300; trial++) {
+            check(TestGeometry.randomHull(random, 3 + random.nextInt(40), 0, 0, 1000, false), "trial " + trial);
+        }
+    }
+
+    @Test
+    void matchesSimpleDynamicProgramAcrossTiles() {
+        // sizes around multiples of the tile side, where tile edges fall inside the table
+        Random random = new Random(2);
+        int[] sizes = {63, 64, 65, 127, 128, 129, 200};
+        for (int n : sizes) {
+            check(circle(random, n), "n = " + n);
+        }
+    }
+
+    @Test
+    void smallInputs() {
+        assertTrue(MinWeightTriangulation.triangulate(new ArrayList<Point>()).get(1).isEmpty());
+        ArrayList<Point> triangle = new ArrayList<Point>(Arrays.asList(
+                new Point(0, 0), new Point(1, 0), new Point(0, 1)));
+        ArrayList<ArrayList<ArrayList<Point>>> result = MinWeightTriangulation.triangulate(triangle);
+        assertEquals(0, result.get(0).size());
+        assertEquals(1, result.get(1).size());
+    }
+
+    @Test
+    void squareUsesEitherDiagonal() {
+        ArrayList<Point> square = new ArrayList<Point>(Arrays.asList(
+                new Point(0, 0), new Point(2, 0), new Point(2, 2), new Point(0, 2)));
+        check(square, "square");
+    }
+
+    private static void check(ArrayList<Point> polygon, String message) {
+        int n = polygon.size();
+        ArrayList<ArrayList<ArrayList<Point>>> result = MinWeightTriangulation.triangulate(polygon);
+        ArrayList<ArrayList<Point>> diagonals = result.get(0);
+        ArrayList<ArrayList<Point>> triangles = result.get(1);
+        assertEquals(n - 2, triangles.size(), message);
+        assertEquals(n - 3, diagonals.size(), message);
+
+        // the triangles tile the polygon
+        double area = 0;
+        for (ArrayList<Point> t : triangles) {
+            double a = TestGeometry.area(t);
+            assertTrue(a > 0, message + ": triangle not CCW " + t);
+            area += a;
+        }
+        assertEquals(TestGeometry.area(polygon), area, 1e-9 * TestGeometry.area(polygon), message);
+
+        // no diagonal repeats, and together they are as short as the reference's
+        double total = 0;
+        Set<String> seen = new HashSet<String>();
+        for (ArrayList<Point> d : diagonals) {
+            String key = polygon.indexOf(d.get(0)) < polygon.indexOf(d.get(1))
+                    ? d.get(0) + "-" + d.get(1) : d.get(1) + "-" + d.get(0);
+            assertTrue(seen.add(key), message + ": diagonal repeated " + key);
+            total += TestGeometry.distance(d.get(0), d.get(1));
+        }
+        double expected = referenceWeight(polygon);
+        assertEquals(expected, total, 1e-9 * Math.max(1, expected), message);
+    }
+
+    /**
+     * cost[i][j] is the least total diagonal length inside the sub-polygon i..j, not
+     * counting the side i-j itself
+     */
+    private static double referenceWeight(ArrayList<Point> polygon) {
+        int n = polygon.size();
+        double[][] cost = new double[n][n];
+        for (int gap = 2; gap < n; gap++) {
+            for (int i = 0; i + gap < n; i++) {
+                int j = i + gap;
+                double best = Double.MAX_VALUE;
+                for (int k = i + 1; k < j; k++) {
+                    double w = cost[i][k] + cost[k][j];
+                    if (k - i > 1) {
+                        w += TestGeometry.distance(polygon.get(i), polygon.get(k));
+                    }
+                    if (j - k > 1) {
+                        w += TestGeometry.distance(polygon.get(k), polygon.get(j));
+                    }
+                    best = Math.min(best, w);
+                }
+                cost[i][j] = best;
+            }
+        }
+        return cost[0][n - 1];
+    }
+
+    /**
+     * n points at random angles on a slightly squashed circle, CCW
+     */
+    private static ArrayList<Point> circle(Random random, int n) {
+        double[] angles = new double[n];
+        for (int i = 0; i < n; i++) {
+            angles[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        Arrays.sort(angles);
+        ArrayList<Point> out = new ArrayList<Point>();
+        for (double a : angles) {
+            out.add(new Point(500 + 400 * Math.cos(a), 500 + 250 * Math.sin(a)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+
+/**
+ * Reference geometry shared by the tests: a plain monotone chain hull, the random
+ * hulls built from it, and the orientation, area and distance helpers they check
+ * results with. Kept deliberately simple so it can be trusted over the code under
+ * test.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+final class TestGeometry {
+
+    private TestGeometry() {
+    }
+
+    /**
+     * A random hull in CCW order with at least three vertices: the hull of random
+     * points in the square [left, left + size] x [bottom, bottom + size]
+     * @param grid if true the points have integer offsets from (left, bottom), so
+     *        hulls share vertices and sides far more often
+     */
+    static ArrayList<Point> randomHull(Random random, int numPoints, double left, double bottom, int size, boolean grid) {
+        ArrayList<Point> hull;
+        do {
+            ArrayList<Point> points = new ArrayList<Point>();
+            for (int i = 0; i < numPoints; i++) {
+                if (grid) {
+                    points.add(new Point(left + random.nextInt(size + 1), bottom + random.nextInt(size + 1)));
+                } else {
+                    points.add(new Point(left + random.nextDouble() * size, bottom + random.nextDouble() * size));
+                }
+            }
+            hull = hull(points);
+        } while (hull.size() < 3);
+        return hull;
+    }
+
+    /**
+     * Andrew's monotone chain
+     * @return the hull in CCW order, without repeated or collinear vertices
+     */
+    static ArrayList<Point> hull(ArrayList<Point> points) {
+        ArrayList<Point> sorted = new ArrayList<Point>(new HashSet<Point>(points));
+        sorted.sort(Comparator.comparingDouble(Point::getX).thenComparingDouble(Point::getY));
+        int n = sorted.size();
+        Point[] h = new Point[2 * n + 1];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && cross(h[k - 2], h[k - 1], sorted.get(i)) <= 0) {
+                k--;
+            }
+            h[k++] = sorted.get(i);
+        }
+        for (int i = n - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(h[k - 2], h[k - 1], sorted.get(i)) <= 0) {
+                k--;
+            }
+            h[k++] = sorted.get(i);
+        }
+        return new ArrayList<Point>(Arrays.asList(h).subList(0, Math.max(k - 1, 0)));
+    }
+
+    /**
+     * @return the signed area of a polygon, positive when it is CCW
+     */
+    static double area(List<Point> polygon) {
+        double sum = 0;
+        for (int i = 0; i < polygon.size(); i++) {
+            Point p = polygon.get(i);
+            Point q = polygon.get((i + 1) % polygon.size());
+            sum += p.getX() * q.getY() - q.getX() * p.getY();
+        }
+        return sum / 2;
+    }
+
+    static double distance(Point a, Point b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+
+    /**
+     * Twice the signed area of triangle o, a, b. Positive when b is left of o-a
+     */
+    static double cross(Point o, Point a, Point b) {
+        return (a.getX() - o.getX()) * (b.getY() - o.getY()) - (a.getY() - o.getY()) * (b.getX() - o.getX());
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.*;
+import edu.macalester.graphics.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks TriangleLocator against a scan of every triangle, on the triangulations the
+ * Quick Hull and Ear Clipping stages produce from each WorkloadGenerator distribution.
+ * The corners are queried on purpose: the rightmost and topmost ones sit exactly on the
+ * edge of the grid.
+ *
+ * @Author Christian Lentz and Nolan Meyer
+ */
+class TriangleLocatorTest {
+
+    @Test
+    void findsEveryCornerCentroidAndEdgeMidpoint() {
+        for (WorkloadGenerator.Distribution dist : WorkloadGenerator.Distribution.values()) {
+            for (long seed = 0; seed < 40; seed++) {
+                ArrayList<ArrayList<Point>> triangles = triangulate(dist, seed, 200);
+                TriangleLocator locator = new TriangleLocator(triangles);
+                for (ArrayList<Point> tri : triangles) {
+                    for (int k = 0; k < 3; k++) {
+                        Point a = tri.get(k);
+                        Point b = tri.get((k + 1) % 3);
+                        check(triangles, locator, a.getX(), a.getY(), dist + " seed " + seed);
+                        check(triangles, locator, (a.getX() + b.getX()) / 2, (a.getY() + b.getY()) / 2, dist + " seed " + seed);
+                    }
+                    double cx = (tri.get(0).getX() + tri.get(1).getX() + tri.get(2).getX()) / 3;
+                    double cy = (tri.get(0).getY() + tri.get(1).getY() + tri.get(2).getY()) / 3;
+                    check(triangles, locator, cx, cy, dist + " seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesScanOnRandomQueries() {
+        Random random = new Random(1);
+        ArrayList<ArrayList<Point>> triangles = triangulate(WorkloadGenerator.Distribution.UNIFORM_DISK, 7, 2000);
+        TriangleLocator locator = new TriangleLocator(triangles);
+        int count = 20_000;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            // reach a little past the box so some queries miss
+            xs[i] = random.nextDouble() * 1100 - 50;
+            ys[i] = random.nextDouble() * 1100 - 50;
+        }
+        int[] out = new int[count];
+        locator.locate(xs, ys, out);
+        for (int i = 0; i < count; i++) {
+            assertEquals(out[i], locator.locate(xs[i], ys[i]));
+            check(triangles, locator, xs[i], ys[i], "query " + i);
+        }
+    }
+
+    @Test
+    void emptyLocatorFindsNothing() {
+        TriangleLocator locator = new TriangleLocator(new ArrayList<ArrayList<Point>>());
+        assertEquals(0, locator.size());
+        assertEquals(-1, locator.locate(0, 0));
+    }
+
+    /**
+     * The locator must report a triangle holding the point exactly when the scan finds one
+     */
+    private static void check(ArrayList<ArrayList<Point>> triangles, TriangleLocator locator,
+                              double x, double y, String message) {
+        int found = locator.locate(x, y);
+        boolean expected = false;
+        for (ArrayList<Point> tri : triangles) {
+            if (contains(tri, x, y)) {
+                expected = true;
+                break;
+            }
+        }
+        if (expected) {
+            assertTrue(found >= 0, message + ": (" + x + ", " + y + ") not found");
+            assertTrue(contains(triangles.get(found), x, y), message + ": wrong triangle for (" + x + ", " + y + ")");
+        } else {
+            assertEquals(-1, found, message + ": (" + x + ", " + y + ") is outside");
+        }
+    }
+
+    private static boolean contains(ArrayList<Point> tri, double x, double y) {
+        Point q = new Point(x, y);
+        double d1 = TestGeometry.cross(tri.get(0), tri.get(1), q);
+        double d2 = TestGeometry.cross(tri.get(1), tri.get(2), q);
+        double d3 = TestGeometry.cross(tri.get(2), tri.get(0), q);
+        boolean hasNeg = d1 < 0 || d2 < 0 || d3 < 0;
+        boolean hasPos = d1 > 0 || d2 > 0 || d3 > 0;
+        return !(hasNeg && hasPos);
+    }
+
+    /**
+     * Run the hull and triangulation stages the way Pipeline does
+     */
+    private static ArrayList<ArrayList<Point>> triangulate(WorkloadGenerator.Distribution dist, long seed, int n) {
+        WorkloadGenerator generator = new WorkloadGenerator(seed, 0, 0, 1000, 1000);
+        ArrayList<Point> hull = QuickHull.sortCCW(new QuickHull(generator.generatePoints(dist, n)).runQuickHull());
+        return EarClipping.clipEars(hull).get(1);
+    }
+}